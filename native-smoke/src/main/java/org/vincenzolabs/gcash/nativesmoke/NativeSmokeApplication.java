@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.nativesmoke;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A minimal Spring Boot application compiled to a GraalVM native image with {@code ./gradlew
+ * :native-smoke:nativeSmokeTest}. It creates a payment and retrieves it through the auto-configured
+ * {@link GCashV1Client} against an embedded {@link GCashGatewaySimulator}, so the request is signed and the response
+ * verified and deserialized in the native image. It exits with a non-zero status if the exchange fails.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@SpringBootApplication
+public class NativeSmokeApplication {
+
+    private static final String CLIENT_ID = "2023010112345678901234";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Performs the signed exchange.
+     *
+     * @param args the command line arguments
+     * @throws Exception if the exchange fails
+     */
+    public static void main(String[] args) throws Exception {
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        try (GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(1)
+                .build()
+                .start()) {
+            SpringApplication application = new SpringApplication(NativeSmokeApplication.class);
+            application.setWebApplicationType(WebApplicationType.NONE);
+            application.setDefaultProperties(Map.of(
+                    "gcash.paymentGatewayUrl", simulator.getBaseUrl(),
+                    "gcash.clientId", CLIENT_ID,
+                    "gcash.signing.keyVersion", "1",
+                    "gcash.signing.privateKey", SimulatorKeys.pem(clientKeyPair.getPrivate()),
+                    "gcash.signing.publicKey", SimulatorKeys.pem(gatewayKeyPair.getPublic())));
+
+            try (ConfigurableApplicationContext context = application.run(args)) {
+                GCashV1Client client = context.getBean(GCashV1Client.class);
+
+                PaymentResponse paymentResponse = client.createPayment(PaymentRequest.builder()
+                                .partnerId(CLIENT_ID)
+                                .paymentRequestId("native-smoke")
+                                .paymentOrderTitle("Native smoke test")
+                                .paymentAmount(Amount.builder().currency("PHP").value("100").build())
+                                .build())
+                        .block(TIMEOUT);
+                PaymentInquiryResponse paymentInquiryResponse = client.retrievePayment(PaymentInquiryRequest.builder()
+                                .partnerId(CLIENT_ID)
+                                .paymentRequestId("native-smoke")
+                                .build())
+                        .block(TIMEOUT);
+
+                if (paymentResponse == null || paymentInquiryResponse == null
+                        || !paymentResponse.getPaymentId().equals(paymentInquiryResponse.getPaymentId())) {
+                    throw new IllegalStateException("Unexpected responses " + paymentResponse + " and "
+                            + paymentInquiryResponse);
+                }
+
+                System.out.println("Signed exchange succeeded: paymentId=" + paymentResponse.getPaymentId()
+                        + ", paymentStatus=" + paymentInquiryResponse.getPaymentStatus());
+            }
+        }
+    }
+}
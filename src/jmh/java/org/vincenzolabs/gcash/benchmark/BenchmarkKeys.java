@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Generates the RSA keys of the benchmarks and encodes them the way the client is configured.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+final class BenchmarkKeys {
+
+    private BenchmarkKeys() {
+    }
+
+    /**
+     * Generates an RSA key pair.
+     *
+     * @param keySize the key size in bits
+     * @return the {@link KeyPair}
+     * @throws NoSuchAlgorithmException if RSA is not supported
+     */
+    static KeyPair generate(int keySize) throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(keySize);
+
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * Encodes the PKCS#8 private key or the X.509 public key in PEM.
+     *
+     * @param key the {@link Key}
+     * @return the PEM-encoded key
+     */
+    static String pem(Key key) {
+        String type = "PKCS#8".equals(key.getFormat()) ? "PRIVATE KEY" : "PUBLIC KEY";
+        String lineSeparator = System.lineSeparator();
+
+        return "-----BEGIN " + type + "-----" + lineSeparator
+                + Base64.getMimeEncoder(64, lineSeparator.getBytes()).encodeToString(key.getEncoded())
+                + lineSeparator + "-----END " + type + "-----" + lineSeparator;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.vincenzolabs.gcash.dto.Address;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.Buyer;
+import org.vincenzolabs.gcash.dto.ContactInfo;
+import org.vincenzolabs.gcash.dto.Goods;
+import org.vincenzolabs.gcash.dto.Merchant;
+import org.vincenzolabs.gcash.dto.OpenUserInfo;
+import org.vincenzolabs.gcash.dto.Order;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.dto.Shipping;
+import org.vincenzolabs.gcash.dto.Store;
+import org.vincenzolabs.gcash.dto.UserInformationResponse;
+import org.vincenzolabs.gcash.dto.UserName;
+import org.vincenzolabs.gcash.enumeration.UserStatus;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The fully populated payloads shared by the benchmarks.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+final class BenchmarkPayloads {
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * Returns the {@link ObjectMapper} of the benchmarks, which supports the Java time types.
+     *
+     * @return the {@link ObjectMapper}
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .build();
+    }
+
+    /**
+     * Returns an {@link Order} with a merchant, store, goods, shipping and buyer.
+     *
+     * @return the {@link Order}
+     */
+    static Order order() {
+        Address address = Address.builder()
+                .region("PH")
+                .state("Metro Manila")
+                .city("Makati")
+                .address1("6789 Ayala Avenue")
+                .address2("Unit 1234, Tower One")
+                .zipCode("1226")
+                .build();
+
+        return Order.builder()
+                .referenceOrderId("ID_000001")
+                .orderDescription("Running shoes and accessories")
+                .orderAmount(amount("10000"))
+                .orderCreateTime(OffsetDateTime.now())
+                .referenceMerchant(Merchant.builder()
+                        .referenceMerchantId("M00000000001")
+                        .merchantCategoryCode("5661")
+                        .merchantName("Merchant Shoes Incorporated")
+                        .merchantDisplayName("Merchant Shoes")
+                        .merchantAddress(address)
+                        .merchantRegisterDate(OffsetDateTime.now().minusYears(5))
+                        .store(Store.builder()
+                                .referenceStoreId("S00000000001")
+                                .storeName("Merchant Shoes Glorietta")
+                                .storeMCC("5661")
+                                .storeDisplayName("Merchant Shoes")
+                                .storeTerminalId("T0001")
+                                .storeOperatorId("O0001")
+                                .storeAddress(address)
+                                .storePhoneNo("+63-2-8888-0000")
+                                .build())
+                        .build())
+                .goods(Goods.builder()
+                        .referenceGoodsId("G00000000001")
+                        .goodsName("Running Shoes")
+                        .goodsCategory("Footwear/Running")
+                        .goodsBrand("Brand")
+                        .goodsUnitAmount(amount("10000"))
+                        .goodsQuantity("1")
+                        .goodsUrl("https://www.merchant.com/goods/G00000000001")
+                        .build())
+                .shipping(Shipping.builder()
+                        .shippingName(userName())
+                        .shippingAddress(address)
+                        .contactNo("+63-917-000-0000")
+                        .shippingCarrier("Carrier")
+                        .shippingPhoneNo("+63-917-000-0000")
+                        .shippingFee(amount("150"))
+                        .build())
+                .buyer(Buyer.builder()
+                        .referenceBuyerId("B00000000001")
+                        .buyerName(userName())
+                        .buyerPhoneNo("+63-917-000-0000")
+                        .build())
+                .extendInfo("{\"customerBelongsTo\":\"siteNameExample\"}")
+                .build();
+    }
+
+    /**
+     * Returns a {@link PaymentRequest} with every field set, including the {@link Order} in the extra parameters.
+     *
+     * @param objectMapper the {@link ObjectMapper}
+     * @return the {@link PaymentRequest}
+     * @throws IOException if the {@link Order} cannot be serialized
+     */
+    static PaymentRequest paymentRequest(ObjectMapper objectMapper) throws IOException {
+        return PaymentRequest.builder()
+                .partnerId("P000000000000001xxxx")
+                .paymentRequestId("2019112719074101000700000077771xxxx")
+                .paymentOrderTitle("SHOES")
+                .productCode("PC_5800000001")
+                .mcc("5661")
+                .paymentAmount(amount("10150"))
+                .paymentReturnUrl("https://www.merchant.com/redirectxxx")
+                .paymentNotifyUrl("https://www.merchant.com/paymentNotifyxxx")
+                .extraParams(Map.of("ORDER", objectMapper.writeValueAsString(order())))
+                .extendInfo("{\"customerBelongsTo\":\"siteNameExample\"}")
+                .build();
+    }
+
+    /**
+     * Returns a {@link UserInformationResponse} with addresses and contacts.
+     *
+     * @return the {@link UserInformationResponse}
+     */
+    static UserInformationResponse userInformationResponse() {
+        return UserInformationResponse.builder()
+                .result(Result.builder()
+                        .resultCode("SUCCESS")
+                        .resultStatus("S")
+                        .resultMessage("success")
+                        .build())
+                .userInfo(OpenUserInfo.builder()
+                        .userId("1000001119398804xxxx")
+                        .status(UserStatus.ACTIVE)
+                        .nickname("Juan")
+                        .username(userName())
+                        .userAddresses(IntStream.range(0, 5)
+                                .mapToObj(i -> Address.builder()
+                                        .region("PH")
+                                        .state("Metro Manila")
+                                        .city("Makati")
+                                        .address1(i + " Ayala Avenue")
+                                        .address2("Unit " + i + ", Tower One")
+                                        .zipCode("1226")
+                                        .build())
+                                .toList())
+                        .gender("MALE")
+                        .birthday(LocalDate.of(1990, 1, 1))
+                        .nationality("PH")
+                        .contactInfos(IntStream.range(0, 5)
+                                .mapToObj(i -> ContactInfo.builder()
+                                        .contactNo("+63-917-000-000" + i)
+                                        .contactType("MOBILE_PHONE")
+                                        .build())
+                                .toList())
+                        .build())
+                .build();
+    }
+
+    private static Amount amount(String value) {
+        return Amount.builder()
+                .currency("PHP")
+                .value(value)
+                .build();
+    }
+
+    private static UserName userName() {
+        return UserName.builder()
+                .fullName("Juan Santos Dela Cruz")
+                .firstName("Juan")
+                .middleName("Santos")
+                .lastName("Dela Cruz")
+                .build();
+    }
+}
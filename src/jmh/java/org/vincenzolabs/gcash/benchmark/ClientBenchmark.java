@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashAutoConfiguration;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+
+import java.security.KeyPair;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GCashV1Client#createPayment(PaymentRequest)} end to end against a local {@link StubGatewayServer},
+ * i.e. serialization, signing, the HTTP exchange, verification and deserialization. The stub serves plain HTTP since
+ * the client only trusts the default certificate authorities. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=ClientBenchmark}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ClientBenchmark {
+
+    private StubGatewayServer server;
+
+    private AnnotationConfigApplicationContext context;
+
+    private GCashV1Client client;
+
+    private PaymentRequest paymentRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPair keyPair = BenchmarkKeys.generate(2048);
+        server = StubGatewayServer.startSigned(keyPair.getPrivate());
+
+        ObjectMapper objectMapper = BenchmarkPayloads.objectMapper();
+        paymentRequest = BenchmarkPayloads.paymentRequest(objectMapper);
+
+        // the stub signs its responses with the private key of the client
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("gcash", Map.of(
+                "gcash.paymentGatewayUrl", server.getBaseUrl(),
+                "gcash.clientId", StubGatewayServer.CLIENT_ID,
+                "gcash.signing.keyVersion", "1",
+                "gcash.signing.privateKey", BenchmarkKeys.pem(keyPair.getPrivate()),
+                "gcash.signing.publicKey", BenchmarkKeys.pem(keyPair.getPublic()))));
+        context.registerBean(ObjectMapper.class, () -> objectMapper);
+        context.register(GCashAutoConfiguration.class);
+        context.refresh();
+
+        client = context.getBean(GCashV1Client.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @Benchmark
+    public PaymentResponse createPayment() {
+        return client.createPayment(paymentRequest).block();
+    }
+}
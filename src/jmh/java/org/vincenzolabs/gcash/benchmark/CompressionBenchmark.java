@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vincenzolabs.gcash.dto.Order;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.UserInformationResponse;
+import org.vincenzolabs.gcash.transport.PayloadCompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Measures the CPU cost of compressing and decompressing large payloads, i.e. a {@link PaymentRequest} with an
+ * embedded {@link Order} and a {@link UserInformationResponse} with addresses and contacts. The sizes on the wire are
+ * printed at setup. Run with {@code ./gradlew jmh -Pjmh.includes=CompressionBenchmark}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"PAYMENT_REQUEST", "USER_INFORMATION_RESPONSE"})
+    public String payload;
+
+    @Param({"gzip", "deflate"})
+    public String encoding;
+
+    private String json;
+
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkPayloads.objectMapper();
+
+        json = "PAYMENT_REQUEST".equals(payload)
+                ? objectMapper.writeValueAsString(BenchmarkPayloads.paymentRequest(objectMapper))
+                : objectMapper.writeValueAsString(BenchmarkPayloads.userInformationResponse());
+        compressed = compress();
+
+        System.out.printf("%n%s: %d bytes, %s: %d bytes%n", payload, json.getBytes(StandardCharsets.UTF_8).length,
+                encoding, compressed.length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        if ("gzip".equals(encoding)) {
+            return PayloadCompression.gzip(json);
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream,
+                new Deflater(Deflater.DEFAULT_COMPRESSION))) {
+            deflaterOutputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public String decompress() throws IOException {
+        try (InputStream inputStream = "gzip".equals(encoding)
+                ? new GZIPInputStream(new ByteArrayInputStream(compressed))
+                : new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.transport.Bulkhead;
+import org.vincenzolabs.gcash.transport.GCashHttpClientFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares HTTP/1.1 and HTTP/2 on the {@link HttpClient} built by {@link GCashHttpClientFactory}. Each invocation
+ * sends {@code concurrency} concurrent payment requests to a local {@link StubGatewayServer}. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=Http2Benchmark}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Http2Benchmark {
+
+    @Param({"false", "true"})
+    public boolean http2;
+
+    @Param({"64"})
+    public int concurrency;
+
+    private StubGatewayServer server;
+
+    private Bulkhead bulkhead;
+
+    private HttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = StubGatewayServer.start();
+
+        GCashProperties properties = new GCashProperties();
+        properties.getHttp2().setEnabled(http2);
+
+        bulkhead = new Bulkhead(EndpointGroup.WRITE, new GCashProperties.Bulkhead(), properties.getHttp2());
+        httpClient = StubGatewayServer.trustSelfSigned(new GCashHttpClientFactory(properties)
+                .create(bulkhead, server.getBaseUrl())
+                .baseUrl(server.getBaseUrl()), http2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nhttp2=%s connections=%d%n", http2, server.getConnections());
+        bulkhead.dispose();
+        server.close();
+    }
+
+    @Benchmark
+    public void createPayments(Blackhole blackhole) {
+        List<String> responses = Flux.range(0, concurrency)
+                .flatMap(i -> httpClient.post()
+                        .uri(StubGatewayServer.PAYMENT_PATH)
+                        .send(ByteBufFlux.fromString(Mono.just(StubGatewayServer.PAYMENT_REQUEST)))
+                        .responseSingle((response, body) -> body.asString()), concurrency)
+                .collectList()
+                .block();
+
+        blackhole.consume(responses);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vincenzolabs.gcash.client.Signatures;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the PEM-encoded keys, the signing of a request, the verification of a response and the
+ * parsing of the {@code Signature} header for 2048-bit and 4096-bit RSA keys. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=SigningBenchmark}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+    @Param({"2048", "4096"})
+    public int keySize;
+
+    private String privateKeyPem;
+
+    private String publicKeyPem;
+
+    private PrivateKey privateKey;
+
+    private PublicKey publicKey;
+
+    private String content;
+
+    private String signature;
+
+    private String signatureHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPair keyPair = BenchmarkKeys.generate(keySize);
+        privateKeyPem = BenchmarkKeys.pem(keyPair.getPrivate());
+        publicKeyPem = BenchmarkKeys.pem(keyPair.getPublic());
+        privateKey = keyPair.getPrivate();
+        publicKey = keyPair.getPublic();
+
+        content = Signatures.content(StubGatewayServer.PAYMENT_PATH, StubGatewayServer.CLIENT_ID,
+                "2019-11-27T12:01:01+08:00", StubGatewayServer.PAYMENT_REQUEST);
+        signature = Signatures.sign(privateKey, content);
+        signatureHeader = "algorithm=RSA256, keyVersion=1, signature=" + signature;
+    }
+
+    @Benchmark
+    public PrivateKey parsePrivateKey() throws GeneralSecurityException {
+        return Signatures.parsePrivateKey(privateKeyPem);
+    }
+
+    @Benchmark
+    public PublicKey parsePublicKey() throws GeneralSecurityException {
+        return Signatures.parsePublicKey(publicKeyPem);
+    }
+
+    @Benchmark
+    public String sign() throws GeneralSecurityException {
+        return Signatures.sign(privateKey, content);
+    }
+
+    @Benchmark
+    public boolean verify() throws GeneralSecurityException {
+        return Signatures.verify(publicKey, content, signature);
+    }
+
+    @Benchmark
+    public String parseSignatureHeader() {
+        return Signatures.parseSignature(signatureHeader);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.benchmark;
+
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import org.vincenzolabs.gcash.client.Signatures;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stub of the payment endpoint that counts the connections it accepts. It either serves HTTPS, negotiating
+ * HTTP/2 or HTTP/1.1 through ALPN, or serves HTTP/1.1 with signed responses that the client can verify.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class StubGatewayServer implements AutoCloseable {
+
+    static final String PAYMENT_PATH = "/v1/payments/pay";
+
+    static final String CLIENT_ID = "clientId";
+
+    static final String PAYMENT_REQUEST = """
+            {"partnerId":"P000000000000001xxxx","paymentRequestId":"2019112719074101000700000077771xxxx",\
+            "paymentOrderTitle":"SHOES","paymentAmount":{"currency":"PHP","value":"10000"}}""";
+
+    private static final String PAYMENT_RESPONSE = """
+            {"result":{"resultCode":"ACCEPT","resultStatus":"A","resultMessage":"accept"},\
+            "paymentId":"20191127190741010007000000777710000","actionForm":{"actionFormType":"REDIRECTION",\
+            "redirectionUrl":"http://www.merchant.com/cashier?orderId=xxxxxxx"}}""";
+
+    private final SelfSignedCertificate certificate;
+
+    private final DisposableServer server;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private StubGatewayServer(PrivateKey signingKey) throws GeneralSecurityException {
+        // the response is constant, so it is signed once
+        String responseTime = OffsetDateTime.now().toString();
+        String signature = signingKey == null ? null : "algorithm=RSA256, keyVersion=1, signature="
+                + Signatures.sign(signingKey, Signatures.content(PAYMENT_PATH, CLIENT_ID, responseTime,
+                PAYMENT_RESPONSE));
+
+        HttpServer httpServer = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .doOnConnection(connection -> connections.incrementAndGet())
+                .route(routes -> routes.post(PAYMENT_PATH, (request, response) -> request.receive()
+                        .aggregate()
+                        .then(headers(response, responseTime, signature)
+                                .sendString(Mono.just(PAYMENT_RESPONSE))
+                                .then())));
+
+        if (signingKey == null) {
+            this.certificate = new SelfSignedCertificate("localhost");
+            httpServer = httpServer
+                    .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    .secure(spec -> spec.sslContext(Http2SslContextSpec.forServer(certificate.certificate(),
+                            certificate.privateKey())));
+        } else {
+            this.certificate = null;
+        }
+
+        this.server = httpServer.bindNow();
+    }
+
+    private static HttpServerResponse headers(HttpServerResponse response, String responseTime, String signature) {
+        response.header("Content-Type", "application/json")
+                .header("Client-Id", CLIENT_ID)
+                .header("Response-Time", responseTime);
+        if (signature != null) {
+            response.header("Signature", signature);
+        }
+
+        return response;
+    }
+
+    /**
+     * Starts the HTTPS stub on an ephemeral port.
+     *
+     * @return the {@link StubGatewayServer}
+     * @throws GeneralSecurityException if the self-signed certificate cannot be generated
+     */
+    public static StubGatewayServer start() throws GeneralSecurityException {
+        return new StubGatewayServer(null);
+    }
+
+    /**
+     * Starts the HTTP stub on an ephemeral port. The responses are signed with the private key so that the client can
+     * verify them with the matching public key.
+     *
+     * @param signingKey the {@link PrivateKey}
+     * @return the {@link StubGatewayServer}
+     * @throws GeneralSecurityException if the response cannot be signed
+     */
+    public static StubGatewayServer startSigned(PrivateKey signingKey) throws GeneralSecurityException {
+        return new StubGatewayServer(signingKey);
+    }
+
+    /**
+     * Configures the {@link HttpClient} to trust the self-signed certificate of the stub.
+     *
+     * @param httpClient the {@link HttpClient}
+     * @param http2      whether HTTP/2 is negotiated
+     * @return the {@link HttpClient}
+     */
+    public static HttpClient trustSelfSigned(HttpClient httpClient, boolean http2) {
+        if (http2) {
+            return httpClient.secure(spec -> spec.sslContext(Http2SslContextSpec.forClient()
+                    .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE))));
+        }
+
+        return httpClient.secure(spec -> spec.sslContext(Http11SslContextSpec.forClient()
+                .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE))));
+    }
+
+    /**
+     * Returns the base URL.
+     *
+     * @return the base URL
+     */
+    public String getBaseUrl() {
+        return (certificate == null ? "http" : "https") + "://localhost:" + server.port();
+    }
+
+    /**
+     * Returns the number of accepted connections.
+     *
+     * @return the number of connections
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        if (certificate != null) {
+            certificate.delete();
+        }
+    }
+}
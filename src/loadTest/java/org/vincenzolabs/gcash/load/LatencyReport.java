@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.load;
+
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The latency report of a {@link LoadGenerator} run. Latencies are measured from the intended start time of each
+ * request, so a stalled client or gateway shows up in the percentiles instead of lowering the arrival rate.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+class LatencyReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadProfile profile;
+
+    private final double seconds;
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    private final Map<String, Long> errorCauses = new LinkedHashMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param profile the {@link LoadProfile}
+     * @param seconds the measured duration in seconds
+     */
+    LatencyReport(LoadProfile profile, double seconds) {
+        this.profile = profile;
+        this.seconds = seconds;
+    }
+
+    /**
+     * Adds the latencies of an operation.
+     *
+     * @param label     the label of the operation
+     * @param histogram the {@link Histogram} of latencies in nanoseconds
+     * @param errors    the number of failed requests, included in the latencies
+     */
+    void add(String label, Histogram histogram, long errors) {
+        rows.put(label, new Row(label, histogram, errors));
+    }
+
+    /**
+     * Adds the number of failed requests of an error cause.
+     *
+     * @param cause the error cause
+     * @param count the number of failed requests
+     */
+    void addErrorCause(String cause, long count) {
+        errorCauses.merge(cause, count, Long::sum);
+    }
+
+    /**
+     * Prints the summary.
+     *
+     * @param out the {@link PrintStream}
+     */
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%nTarget rate: %.1f/s, measured: %.0fs%n", profile.getRate(), seconds);
+        out.printf("%-16s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "rate/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows.values()) {
+            Histogram histogram = row.getHistogram();
+            out.printf(Locale.ROOT, "%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n", row.getLabel(),
+                    histogram.getTotalCount(), row.getErrors(), histogram.getTotalCount() / seconds,
+                    millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0),
+                    millis(histogram, 99.9), histogram.getMaxValue() / NANOS_PER_MILLI);
+        }
+
+        errorCauses.forEach((cause, count) -> out.printf("%10d %s%n", count, cause));
+    }
+
+    /**
+     * Writes {@code summary.csv}, {@code summary.html} and the percentile distribution of each operation to
+     * {@code <operation>.hgrm}, in milliseconds.
+     *
+     * @param directory the report directory
+     * @throws IOException if the reports cannot be written
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.csv")))) {
+            csv.println("operation,count,errors,rate,mean_ms,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms");
+            for (Row row : rows.values()) {
+                Histogram histogram = row.getHistogram();
+                StringBuilder line = new StringBuilder(row.getLabel())
+                        .append(',').append(histogram.getTotalCount())
+                        .append(',').append(row.getErrors())
+                        .append(',').append(format(histogram.getTotalCount() / seconds))
+                        .append(',').append(format(histogram.getMean() / NANOS_PER_MILLI));
+                for (double percentile : PERCENTILES) {
+                    line.append(',').append(format(millis(histogram, percentile)));
+                }
+                line.append(',').append(format(histogram.getMaxValue() / NANOS_PER_MILLI));
+                csv.println(line);
+            }
+        }
+
+        for (Row row : rows.values()) {
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve(row.getLabel() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                row.getHistogram().outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+            }
+        }
+
+        try (PrintWriter html = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.html")))) {
+            html.println("<!DOCTYPE html>");
+            html.println("<html><head><meta charset=\"utf-8\"><title>GCash load test</title>");
+            html.println("<style>body{font-family:sans-serif}table{border-collapse:collapse}"
+                    + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}</style></head><body>");
+            html.printf(Locale.ROOT, "<h1>GCash load test</h1><p>Target rate %.1f/s, measured %.0fs after a %ds "
+                            + "warm-up, mix %s</p>%n", profile.getRate(), seconds, profile.getWarmup().toSeconds(),
+                    HtmlUtils.htmlEscape(profile.getMix().toString()));
+            html.println("<table><tr><th>Operation</th><th>Count</th><th>Errors</th><th>Rate/s</th><th>Mean ms</th>"
+                    + "<th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>Max ms</th></tr>");
+            for (Row row : rows.values()) {
+                Histogram histogram = row.getHistogram();
+                html.print("<tr><th>" + row.getLabel() + "</th><td>" + histogram.getTotalCount() + "</td><td>"
+                        + row.getErrors() + "</td><td>" + format(histogram.getTotalCount() / seconds) + "</td><td>"
+                        + format(histogram.getMean() / NANOS_PER_MILLI) + "</td>");
+                for (double percentile : PERCENTILES) {
+                    html.print("<td>" + format(millis(histogram, percentile)) + "</td>");
+                }
+                html.println("<td>" + format(histogram.getMaxValue() / NANOS_PER_MILLI) + "</td></tr>");
+            }
+            html.println("</table>");
+
+            if (!errorCauses.isEmpty()) {
+                html.println("<h2>Errors</h2><table><tr><th>Cause</th><th>Count</th></tr>");
+                errorCauses.forEach((cause, count) -> html.println("<tr><td>" + HtmlUtils.htmlEscape(cause)
+                        + "</td><td>" + count + "</td></tr>"));
+                html.println("</table>");
+            }
+            html.println("</body></html>");
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    @Value
+    private static class Row {
+
+        String label;
+
+        Histogram histogram;
+
+        long errors;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashAutoConfiguration;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.LatencyDistribution;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link GCashV1Client} at a constant arrival rate against an embedded {@link GCashGatewaySimulator}, i.e. an
+ * open model: requests are started on schedule whether or not the previous ones completed, and their latency is
+ * measured from their intended start time so that it is not hidden by coordinated omission. Run with
+ * {@code ./gradlew loadTest -Pload.rate=500 -Pload.duration=2m}. The {@code gcash.*} properties configure the client,
+ * e.g. {@code -Pgcash.bulkheads.WRITE.maxConnections=100}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class LoadGenerator {
+
+    private final LoadProfile profile;
+
+    private final GCashV1Client client;
+
+    private final Workload workload = new Workload(100_000);
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final Map<String, LongAdder> errorCauses = new ConcurrentHashMap<>();
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile long measureStartNanos;
+
+    /**
+     * Default constructor.
+     *
+     * @param profile the {@link LoadProfile}
+     * @param client  the {@link GCashV1Client}
+     */
+    public LoadGenerator(LoadProfile profile, GCashV1Client client) {
+        this.profile = profile;
+        this.client = client;
+        this.operations = profile.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += profile.getMix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+            histograms.put(operations[i], new ConcurrentHistogram(3));
+            errors.put(operations[i], new LongAdder());
+        }
+    }
+
+    /**
+     * Starts the gateway simulator and the client, runs the load and writes the reports.
+     *
+     * @param args the command line arguments, unused
+     * @throws Exception if the load test fails
+     */
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        try (GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(profile.getSimulatorThreads())
+                .faultProfile(FaultProfile.builder()
+                        .latency(LatencyDistribution.logNormal(profile.getLatencyMedian(), profile.getLatencyP99()))
+                        .errorRate(profile.getErrorRate())
+                        .build())
+                .build()
+                .start();
+             AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("simulator", Map.of(
+                    "gcash.paymentGatewayUrl", simulator.getBaseUrl(),
+                    "gcash.clientId", Workload.PARTNER_ID,
+                    "gcash.signing.keyVersion", "1",
+                    "gcash.signing.privateKey", SimulatorKeys.pem(clientKeyPair.getPrivate()),
+                    "gcash.signing.publicKey", SimulatorKeys.pem(gatewayKeyPair.getPublic()))));
+            ObjectMapper objectMapper = JsonMapper.builder()
+                    .addModule(new JavaTimeModule())
+                    .build();
+            context.registerBean(ObjectMapper.class, () -> objectMapper);
+            context.register(GCashAutoConfiguration.class);
+            context.refresh();
+
+            LatencyReport report = new LoadGenerator(profile, context.getBean(GCashV1Client.class)).run();
+            report.print(System.out);
+            report.write(profile.getOutputDir());
+            System.out.printf("%nReports written to %s%n", profile.getOutputDir().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs the warm-up and the measured load, then waits for the outstanding requests.
+     *
+     * @return the {@link LatencyReport}
+     */
+    public LatencyReport run() {
+        // the first payments give the inquiries and refunds something to target
+        Operation.CREATE_PAYMENT.execute(client, workload).block();
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.getRate();
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + profile.getWarmup().toNanos();
+        long endNanos = measureStartNanos + profile.getDuration().toNanos();
+        long maxLagNanos = 0;
+
+        for (long i = 0; ; i++) {
+            long intendedNanos = startNanos + (long) (i * intervalNanos);
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+
+            long now;
+            while ((now = System.nanoTime()) < intendedNanos) {
+                LockSupport.parkNanos(intendedNanos - now);
+            }
+            maxLagNanos = Math.max(maxLagNanos, now - intendedNanos);
+
+            send(next(), intendedNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        if (maxLagNanos > TimeUnit.MILLISECONDS.toNanos(10)) {
+            System.out.printf("%nThe generator fell behind its schedule by up to %.1f ms; latencies still count from "
+                    + "the intended start times%n", maxLagNanos / 1_000_000.0);
+        }
+        if (outstanding.get() > 0) {
+            System.out.printf("%d requests were still outstanding after 30s%n", outstanding.get());
+        }
+
+        LatencyReport report = new LatencyReport(profile, profile.getDuration().toNanos() / 1e9);
+        for (Operation operation : operations) {
+            report.add(operation.getLabel(), histograms.get(operation), errors.get(operation).sum());
+        }
+        errorCauses.forEach((cause, count) -> report.addErrorCause(cause, count.sum()));
+
+        return report;
+    }
+
+    private Operation next() {
+        int weight = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (weight < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    private void send(Operation operation, long intendedNanos) {
+        if (outstanding.incrementAndGet() > profile.getMaxOutstanding()) {
+            outstanding.decrementAndGet();
+            complete(operation, intendedNanos, "Dropped, " + profile.getMaxOutstanding() + " requests outstanding");
+            return;
+        }
+
+        try {
+            operation.execute(client, workload)
+                    .subscribe(response -> {
+                            },
+                            error -> {
+                                outstanding.decrementAndGet();
+                                complete(operation, intendedNanos, cause(error));
+                            },
+                            () -> {
+                                outstanding.decrementAndGet();
+                                complete(operation, intendedNanos, null);
+                            });
+        } catch (RuntimeException e) {
+            outstanding.decrementAndGet();
+            complete(operation, intendedNanos, cause(e));
+        }
+    }
+
+    private void complete(Operation operation, long intendedNanos, String errorCause) {
+        if (intendedNanos < measureStartNanos) {
+            return;
+        }
+
+        histograms.get(operation).recordValue(System.nanoTime() - intendedNanos);
+        if (errorCause != null) {
+            errors.get(operation).increment();
+            errorCauses.computeIfAbsent(operation.getLabel() + ": " + errorCause, key -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    private static String cause(Throwable error) {
+        if (error instanceof ApiException apiException && apiException.getApiError() != null) {
+            return apiException.getApiError().getStatus() + " " + apiException.getApiError().getReason();
+        }
+
+        return error.getClass().getSimpleName() + " " + error.getMessage();
+    }
+}
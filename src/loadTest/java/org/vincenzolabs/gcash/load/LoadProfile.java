@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.load;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The load profile of a {@link LoadGenerator} run, read from the {@code load.*} system properties.
+ *
+ * <table>
+ *     <caption>System properties</caption>
+ *     <tr><th>Property</th><th>Default</th><th>Description</th></tr>
+ *     <tr><td>{@code load.rate}</td><td>{@code 200}</td><td>The arrival rate in requests per second</td></tr>
+ *     <tr><td>{@code load.duration}</td><td>{@code 60s}</td><td>The measured duration</td></tr>
+ *     <tr><td>{@code load.warmup}</td><td>{@code 10s}</td><td>The unmeasured duration before it</td></tr>
+ *     <tr><td>{@code load.mix}</td><td>{@code createPayment=30,retrievePayment=60,createRefund=10}</td>
+ *         <td>The weight of each {@link Operation}</td></tr>
+ *     <tr><td>{@code load.maxOutstanding}</td><td>{@code 10000}</td>
+ *         <td>The number of outstanding requests beyond which arrivals are dropped and counted as errors</td></tr>
+ *     <tr><td>{@code load.latency.median}</td><td>{@code 20ms}</td><td>The median latency of the simulator</td></tr>
+ *     <tr><td>{@code load.latency.p99}</td><td>{@code 200ms}</td><td>The 99th percentile latency of the simulator
+ *         </td></tr>
+ *     <tr><td>{@code load.errorRate}</td><td>{@code 0}</td><td>The error rate of the simulator</td></tr>
+ *     <tr><td>{@code load.simulatorThreads}</td><td>the number of processors</td>
+ *         <td>The event loop threads of the simulator</td></tr>
+ *     <tr><td>{@code load.outputDir}</td><td>{@code build/reports/load}</td><td>The report directory</td></tr>
+ * </table>
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Value
+@Builder
+public class LoadProfile {
+
+    double rate;
+
+    Duration duration;
+
+    Duration warmup;
+
+    Map<Operation, Integer> mix;
+
+    int maxOutstanding;
+
+    Duration latencyMedian;
+
+    Duration latencyP99;
+
+    double errorRate;
+
+    int simulatorThreads;
+
+    Path outputDir;
+
+    /**
+     * Reads the {@link LoadProfile} from the system properties.
+     *
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile fromSystemProperties() {
+        return LoadProfile.builder()
+                .rate(Double.parseDouble(System.getProperty("load.rate", "200")))
+                .duration(DurationStyle.detectAndParse(System.getProperty("load.duration", "60s")))
+                .warmup(DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")))
+                .mix(parseMix(System.getProperty("load.mix", "createPayment=30,retrievePayment=60,createRefund=10")))
+                .maxOutstanding(Integer.parseInt(System.getProperty("load.maxOutstanding", "10000")))
+                .latencyMedian(DurationStyle.detectAndParse(System.getProperty("load.latency.median", "20ms")))
+                .latencyP99(DurationStyle.detectAndParse(System.getProperty("load.latency.p99", "200ms")))
+                .errorRate(Double.parseDouble(System.getProperty("load.errorRate", "0")))
+                .simulatorThreads(Integer.parseInt(System.getProperty("load.simulatorThreads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))))
+                .outputDir(Path.of(System.getProperty("load.outputDir", "build/reports/load")))
+                .build();
+    }
+
+    /**
+     * Parses a load mix, e.g. {@code createPayment=30,retrievePayment=60,createRefund=10}.
+     *
+     * @param mix the load mix
+     * @return the weight of each {@link Operation}
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry " + entry);
+            }
+
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromLabel(pair[0].trim()), weight);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The load mix is empty");
+        }
+
+        return weights;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.RefundRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * The client operations of the load mix.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+
+    /**
+     * {@link GCashV1Client#createPayment(PaymentRequest)} of a new payment.
+     */
+    CREATE_PAYMENT("createPayment") {
+        @Override
+        Mono<?> execute(GCashV1Client client, Workload workload) {
+            String paymentRequestId = UUID.randomUUID().toString();
+
+            return client.createPayment(PaymentRequest.builder()
+                            .partnerId(Workload.PARTNER_ID)
+                            .paymentRequestId(paymentRequestId)
+                            .paymentOrderTitle("Load test")
+                            .paymentAmount(AMOUNT)
+                            .build())
+                    .doOnNext(response -> workload.add(paymentRequestId));
+        }
+    },
+
+    /**
+     * {@link GCashV1Client#retrievePayment(PaymentInquiryRequest)} of a created payment.
+     */
+    RETRIEVE_PAYMENT("retrievePayment") {
+        @Override
+        Mono<?> execute(GCashV1Client client, Workload workload) {
+            return client.retrievePayment(PaymentInquiryRequest.builder()
+                    .partnerId(Workload.PARTNER_ID)
+                    .paymentRequestId(workload.next())
+                    .build());
+        }
+    },
+
+    /**
+     * {@link GCashV1Client#createRefund(RefundRequest)} of a created payment.
+     */
+    CREATE_REFUND("createRefund") {
+        @Override
+        Mono<?> execute(GCashV1Client client, Workload workload) {
+            return client.createRefund(RefundRequest.builder()
+                    .partnerId(Workload.PARTNER_ID)
+                    .refundRequestId(UUID.randomUUID().toString())
+                    .paymentRequestId(workload.next())
+                    .refundAmount(AMOUNT)
+                    .refundReason("Load test")
+                    .build());
+        }
+    };
+
+    private static final Amount AMOUNT = Amount.builder()
+            .currency("PHP")
+            .value("10000")
+            .build();
+
+    /**
+     * The name used in the load mix and the reports.
+     */
+    private final String label;
+
+    /**
+     * Returns the {@link Operation} of the label.
+     *
+     * @param label the label
+     * @return the {@link Operation}
+     */
+    public static Operation fromLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(label)) {
+                return operation;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown operation " + label);
+    }
+
+    /**
+     * Executes the operation.
+     *
+     * @param client   the {@link GCashV1Client}
+     * @param workload the {@link Workload}
+     * @return the {@link Mono} containing the response
+     */
+    abstract Mono<?> execute(GCashV1Client client, Workload workload);
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.vincenzolabs.gcash.client.GCashClient;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.client.VirtualThreads;
+import org.vincenzolabs.gcash.config.GCashAutoConfiguration;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares {@code callers} concurrent callers of the blocking {@link GCashClient}, each on its own virtual thread,
+ * with the same number of concurrent callers of the reactive {@link GCashV1Client}. Every caller sends
+ * {@code requestsPerCaller} payments one after the other to an embedded {@link GCashGatewaySimulator}, and both clients
+ * are limited to {@code connections} concurrent requests. Run with {@code ./gradlew virtualThreadBenchmark
+ * -Pvt.callers=10000}, which launches a Java 21 JVM on the multi-release JAR. On Java 17, the blocking callers run on
+ * platform threads.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class VirtualThreadBenchmark {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int callers = Integer.getInteger("vt.callers", 10_000);
+
+    private final int requestsPerCaller = Integer.getInteger("vt.requestsPerCaller", 5);
+
+    private final int warmupCallers = Integer.getInteger("vt.warmupCallers", 500);
+
+    private final AtomicLong paymentRequestIds = new AtomicLong();
+
+    private final GCashV1Client reactiveClient;
+
+    private final GCashClient blockingClient;
+
+    /**
+     * Default constructor.
+     *
+     * @param reactiveClient the {@link GCashV1Client}
+     * @param blockingClient the {@link GCashClient}
+     */
+    public VirtualThreadBenchmark(GCashV1Client reactiveClient, GCashClient blockingClient) {
+        this.reactiveClient = reactiveClient;
+        this.blockingClient = blockingClient;
+    }
+
+    /**
+     * Starts the gateway simulator and both clients, runs the callers of each client and writes the report.
+     *
+     * @param args the command line arguments, unused
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.getInteger("vt.connections", 200);
+        Path outputDir = Path.of(System.getProperty("vt.outputDir", "build/reports/virtual-threads"));
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        try (GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(Integer.getInteger("vt.simulatorThreads", Runtime.getRuntime().availableProcessors()))
+                .build()
+                .start();
+             AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("simulator", Map.of(
+                    "gcash.paymentGatewayUrl", simulator.getBaseUrl(),
+                    "gcash.clientId", Workload.PARTNER_ID,
+                    "gcash.signing.keyVersion", "1",
+                    "gcash.signing.privateKey", SimulatorKeys.pem(clientKeyPair.getPrivate()),
+                    "gcash.signing.publicKey", SimulatorKeys.pem(gatewayKeyPair.getPublic()),
+                    "gcash.bulkheads.WRITE.maxConnections", connections,
+                    "gcash.bulkheads.WRITE.maxInFlight", 0,
+                    "gcash.bulkheads.WRITE.pendingAcquireMaxCount", -1,
+                    "gcash.blocking.enabled", true,
+                    "gcash.blocking.maxConcurrency", connections)));
+            ObjectMapper objectMapper = JsonMapper.builder()
+                    .addModule(new JavaTimeModule())
+                    .build();
+            context.registerBean(ObjectMapper.class, () -> objectMapper);
+            context.register(GCashAutoConfiguration.class);
+            context.refresh();
+
+            System.out.printf("%d connections, blocking callers on %s threads%n", connections,
+                    VirtualThreads.isSupported() ? "virtual" : "platform");
+
+            List<Result> results = new VirtualThreadBenchmark(context.getBean(GCashV1Client.class),
+                    context.getBean(GCashClient.class)).run();
+            write(results, outputDir);
+            System.out.printf("%nReport written to %s%n", outputDir.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs the reactive callers, then the blocking callers, each after a warm-up round.
+     *
+     * @return the {@link Result} of each client
+     * @throws Exception if a caller fails unexpectedly
+     */
+    public List<Result> run() throws Exception {
+        System.out.printf("%d callers x %d payments%n", callers, requestsPerCaller);
+        runReactive(warmupCallers);
+        Result reactive = runReactive(callers);
+        runBlocking(warmupCallers);
+        Result blocking = runBlocking(callers);
+
+        System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s %10s %12s %10s%n", "client", "count", "errors",
+                "rate/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "peak threads", "heap MB");
+        for (Result result : List.of(reactive, blocking)) {
+            Histogram histogram = result.histogram();
+            System.out.printf(Locale.ROOT, "%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %12d %10d%n",
+                    result.client(), histogram.getTotalCount(), result.errors(), result.rate(),
+                    histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI, result.peakThreads(), result.heapMegabytes());
+        }
+
+        return List.of(reactive, blocking);
+    }
+
+    private Result runReactive(int callerCount) {
+        Histogram histogram = new ConcurrentHistogram(3);
+        LongAdder errors = new LongAdder();
+        Probe probe = Probe.start();
+
+        Flux.range(0, callerCount)
+                .flatMap(caller -> Flux.range(0, requestsPerCaller)
+                        .concatMap(i -> Mono.defer(() -> {
+                            long start = System.nanoTime();
+                            return reactiveClient.createPayment(nextPaymentRequest())
+                                    .doOnSuccess(response -> histogram.recordValue(System.nanoTime() - start))
+                                    .onErrorResume(e -> {
+                                        histogram.recordValue(System.nanoTime() - start);
+                                        errors.increment();
+                                        return Mono.empty();
+                                    });
+                        })), callerCount)
+                .blockLast();
+
+        return probe.stop("reactive", histogram, errors.sum());
+    }
+
+    private Result runBlocking(int callerCount) throws Exception {
+        Histogram histogram = new ConcurrentHistogram(3);
+        LongAdder errors = new LongAdder();
+        Probe probe = Probe.start();
+
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("gcash-caller-");
+        try {
+            List<Future<?>> futures = new ArrayList<>(callerCount);
+            for (int caller = 0; caller < callerCount; caller++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerCaller; i++) {
+                        long start = System.nanoTime();
+                        try {
+                            blockingClient.createPayment(nextPaymentRequest());
+                        } catch (RuntimeException e) {
+                            errors.increment();
+                        }
+                        histogram.recordValue(System.nanoTime() - start);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        return probe.stop("blocking", histogram, errors.sum());
+    }
+
+    private PaymentRequest nextPaymentRequest() {
+        return PaymentRequest.builder()
+                .partnerId(Workload.PARTNER_ID)
+                .paymentRequestId("VT-" + paymentRequestIds.incrementAndGet())
+                .paymentOrderTitle("Virtual thread benchmark")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build();
+    }
+
+    private static void write(List<Result> results, Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.csv")))) {
+            csv.println("client,count,errors,rate,p50_ms,p99_ms,p99_9_ms,max_ms,peak_threads,heap_mb");
+            for (Result result : results) {
+                Histogram histogram = result.histogram();
+                csv.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d%n", result.client(),
+                        histogram.getTotalCount(), result.errors(), result.rate(),
+                        histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                        histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                        histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                        histogram.getMaxValue() / NANOS_PER_MILLI, result.peakThreads(), result.heapMegabytes());
+            }
+        }
+    }
+
+    /**
+     * The outcome of the callers of one client.
+     *
+     * @param client        the client label
+     * @param histogram     the {@link Histogram} of latencies in nanoseconds
+     * @param errors        the number of failed requests, included in the latencies
+     * @param rate          the completed requests per second
+     * @param peakThreads   the peak number of live platform threads
+     * @param heapMegabytes the heap in use at the end of the run
+     */
+    public record Result(String client, Histogram histogram, long errors, double rate, int peakThreads,
+                         long heapMegabytes) {
+    }
+
+    /**
+     * Measures the duration, the peak number of platform threads and the heap in use of a run.
+     */
+    private record Probe(long startNanos) {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+        static Probe start() {
+            THREADS.resetPeakThreadCount();
+            return new Probe(System.nanoTime());
+        }
+
+        Result stop(String client, Histogram histogram, long errors) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+            return new Result(client, histogram, errors, histogram.getTotalCount() / seconds,
+                    THREADS.getPeakThreadCount(), MEMORY.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The payment request IDs created during a load test, kept in a ring so that inquiries and refunds target recent
+ * payments without unbounded growth.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+class Workload {
+
+    static final String PARTNER_ID = "2023010112345678901234";
+
+    private final AtomicReferenceArray<String> paymentRequestIds;
+
+    private final AtomicLong added = new AtomicLong();
+
+    /**
+     * Default constructor.
+     *
+     * @param capacity the number of payment request IDs kept
+     */
+    Workload(int capacity) {
+        this.paymentRequestIds = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Adds the payment request ID of a created payment.
+     *
+     * @param paymentRequestId the payment request ID
+     */
+    void add(String paymentRequestId) {
+        paymentRequestIds.set((int) (added.getAndIncrement() % paymentRequestIds.length()), paymentRequestId);
+    }
+
+    /**
+     * Returns the payment request ID of a random recent payment.
+     *
+     * @return the payment request ID, or a payment request ID unknown to the gateway if no payment was created yet
+     */
+    String next() {
+        int size = (int) Math.min(added.get(), paymentRequestIds.length());
+        if (size == 0) {
+            return "unknown";
+        }
+
+        String paymentRequestId = paymentRequestIds.get(ThreadLocalRandom.current().nextInt(size));
+
+        return paymentRequestId == null ? "unknown" : paymentRequestId;
+    }
+}
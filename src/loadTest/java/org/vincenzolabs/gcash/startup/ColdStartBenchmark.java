@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.startup;
+
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures the time from JVM launch to the first verified {@code createPayment} response. Each run launches a fresh
+ * JVM with {@link ColdStartProbe} against an embedded HTTPS {@link GCashGatewaySimulator}, so the Spring context,
+ * Jackson introspection, JCA provider initialization and the first TLS handshake are all cold. Run with
+ * {@code ./gradlew coldStart -Pcoldstart.runs=20 "-Pcoldstart.jvmArgs=-XX:TieredStopAtLevel=1"}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class ColdStartBenchmark {
+
+    /**
+     * The password of the trust store of the simulator certificate.
+     */
+    static final char[] TRUST_STORE_PASSWORD = "changeit".toCharArray();
+
+    private ColdStartBenchmark() {
+    }
+
+    /**
+     * Runs the fresh JVMs and writes the reports.
+     *
+     * @param args the command line arguments, unused
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("coldstart.runs", 10);
+        String jvmArgs = System.getProperty("coldstart.jvmArgs", "").trim();
+        Path outputDir = Path.of(System.getProperty("coldstart.outputDir", "build/reports/coldstart"));
+        Path workDir = Files.createTempDirectory("gcash-coldstart");
+
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+        Files.writeString(workDir.resolve("client-private.pem"), SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        Files.writeString(workDir.resolve("gateway-public.pem"), SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+
+        try (GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .secure(true)
+                .build()
+                .start()) {
+            Path trustStore = writeTrustStore(simulator, workDir.resolve("truststore.p12"));
+
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            if (!jvmArgs.isEmpty()) {
+                command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("-Djavax.net.ssl.trustStore=" + trustStore);
+            command.add("-Djavax.net.ssl.trustStoreType=PKCS12");
+            command.add("-Djavax.net.ssl.trustStorePassword=" + new String(TRUST_STORE_PASSWORD));
+            command.add("-Dcoldstart.keyDirectory=" + workDir);
+            command.add("-Dgcash.paymentGatewayUrl=" + simulator.getBaseUrl());
+            command.add("-Dgcash.clientId=2023010112345678901234");
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(name -> name.startsWith("gcash."))
+                    .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+
+            List<Map<String, Long>> results = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Map<String, Long> result = launch(command);
+                results.add(result);
+                System.out.printf(Locale.ROOT, "Run %d/%d: %.1f ms%n", run, runs, result.get("total") / 1e6);
+            }
+
+            report(results, outputDir);
+        } finally {
+            try (var files = Files.list(workDir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    /**
+     * Writes the certificate of the simulator to a PKCS12 trust store.
+     *
+     * @param simulator the {@link GCashGatewaySimulator}
+     * @param path      the trust store path
+     * @return the trust store path
+     * @throws GeneralSecurityException if the trust store cannot be created
+     * @throws IOException              if the trust store cannot be written
+     */
+    static Path writeTrustStore(GCashGatewaySimulator simulator, Path path)
+            throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setCertificateEntry("gcash-simulator", simulator.getCertificate());
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            keyStore.store(outputStream, TRUST_STORE_PASSWORD);
+        }
+
+        return path;
+    }
+
+    private static Map<String, Long> launch(List<String> command) throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(command);
+        // the launch time is passed right before the main class so that the probe can time the JVM boot
+        arguments.add("-Dcoldstart.launchedAt=" + System.currentTimeMillis());
+        arguments.add(ColdStartProbe.class.getName());
+
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .start();
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = process.inputReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ColdStartProbe.RESULT_PREFIX)) {
+                    result.put("total", System.nanoTime() - startNanos);
+                    for (String phase : line.substring(ColdStartProbe.RESULT_PREFIX.length()).split(",")) {
+                        String[] pair = phase.split("=");
+                        result.put(pair[0], Long.parseLong(pair[1]));
+                    }
+                } else {
+                    output.add(line);
+                }
+            }
+        }
+
+        int exitCode = process.waitFor();
+        if (result.isEmpty()) {
+            throw new IllegalStateException("The cold start probe exited with " + exitCode + System.lineSeparator()
+                    + String.join(System.lineSeparator(), output));
+        }
+
+        return result;
+    }
+
+    private static void report(List<Map<String, Long>> results, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        List<String> phases = new ArrayList<>(results.get(0).keySet());
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("runs.csv")))) {
+            csv.println("run," + String.join(",", phases.stream().map(phase -> phase + "_ms").toList()));
+            for (int run = 0; run < results.size(); run++) {
+                StringBuilder line = new StringBuilder().append(run + 1);
+                for (String phase : phases) {
+                    line.append(',').append(millis(results.get(run).get(phase)));
+                }
+                csv.println(line);
+            }
+        }
+
+        System.out.printf("%n%-24s %10s %10s %10s %10s %10s%n", "phase", "min ms", "p50 ms", "p90 ms", "max ms",
+                "mean ms");
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("summary.csv")))) {
+            csv.println("phase,min_ms,p50_ms,p90_ms,max_ms,mean_ms");
+            for (String phase : phases) {
+                long[] values = results.stream().mapToLong(result -> result.get(phase)).sorted().toArray();
+                double mean = Arrays.stream(values).average().orElse(0);
+                String[] row = {millis(values[0]), millis(percentile(values, 50)), millis(percentile(values, 90)),
+                        millis(values[values.length - 1]), millis((long) mean)};
+                csv.println(phase + "," + String.join(",", row));
+                System.out.printf("%-24s %10s %10s %10s %10s %10s%n", phase, row[0], row[1], row[2], row[3], row[4]);
+            }
+        }
+
+        System.out.printf("%nReports written to %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
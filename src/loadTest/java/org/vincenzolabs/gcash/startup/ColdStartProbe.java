@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashAutoConfiguration;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.transport.ExchangeListener;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The fresh JVM launched by {@link ColdStartBenchmark}. It wires {@link GCashV1Client} in a Spring context, sends one
+ * {@link GCashV1Client#createPayment(PaymentRequest)} and prints the duration of each startup phase in nanoseconds on
+ * a single {@value #RESULT_PREFIX} line.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class ColdStartProbe {
+
+    /**
+     * The prefix of the result line.
+     */
+    static final String RESULT_PREFIX = "COLDSTART ";
+
+    private ColdStartProbe() {
+    }
+
+    /**
+     * Measures the startup phases.
+     *
+     * @param args the command line arguments, unused
+     * @throws Exception if the first payment fails
+     */
+    public static void main(String[] args) throws Exception {
+        long mainNanos = System.nanoTime();
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("jvm", (System.currentTimeMillis() - Long.getLong("coldstart.launchedAt")) * 1_000_000L);
+
+        Path keyDirectory = Path.of(System.getProperty("coldstart.keyDirectory"));
+        AtomicReference<ExchangeTrace> firstTrace = new AtomicReference<>();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("coldstart", Map.of(
+                    "gcash.signing.keyVersion", "1",
+                    "gcash.signing.privateKey", Files.readString(keyDirectory.resolve("client-private.pem")),
+                    "gcash.signing.publicKey", Files.readString(keyDirectory.resolve("gateway-public.pem")))));
+            context.registerBean(ObjectMapper.class, () -> JsonMapper.builder()
+                    .addModule(new JavaTimeModule())
+                    .build());
+            context.register(GCashAutoConfiguration.class);
+            context.registerBean(ExchangeListener.class,
+                    () -> (trace, error) -> firstTrace.compareAndSet(null, trace));
+            context.refresh();
+            long contextNanos = System.nanoTime();
+            phases.put("context", contextNanos - mainNanos);
+
+            context.getBean(GCashV1Client.class)
+                    .createPayment(PaymentRequest.builder()
+                            .partnerId(System.getProperty("gcash.clientId"))
+                            .paymentRequestId(UUID.randomUUID().toString())
+                            .paymentOrderTitle("Cold start")
+                            .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                            .build())
+                    .block();
+            phases.put("first_call", System.nanoTime() - contextNanos);
+            phases.put("main_to_first_response", System.nanoTime() - mainNanos);
+
+            ExchangeTrace trace = firstTrace.get();
+            for (ExchangePhase phase : ExchangePhase.values()) {
+                phases.put(phase.name().toLowerCase(Locale.ROOT), trace == null ? 0L : trace.getNanos(phase));
+            }
+
+            // printed before the context is closed so that the launcher does not time the shutdown
+            StringJoiner result = new StringJoiner(",", RESULT_PREFIX, "");
+            phases.forEach((phase, nanos) -> result.add(phase + "=" + nanos));
+            System.out.println(result);
+            System.out.flush();
+        }
+
+        System.exit(0);
+    }
+}
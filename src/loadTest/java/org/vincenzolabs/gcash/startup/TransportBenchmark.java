@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.startup;
+
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import org.vincenzolabs.gcash.transport.TransportType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares the startup, the footprint and the throughput of the {@link TransportType}s. Each run launches a fresh JVM
+ * with {@link TransportProbe} per transport against an embedded HTTPS {@link GCashGatewaySimulator}, alternating the
+ * transports so that both see the same machine load. The median of every metric is reported. Run with
+ * {@code ./gradlew transportBenchmark -Ptransport.runs=5 -Ptransport.requests=20000 "-Ptransport.jvmArgs=-Xmx256m"}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class TransportBenchmark {
+
+    private TransportBenchmark() {
+    }
+
+    /**
+     * Runs the fresh JVMs and writes the reports.
+     *
+     * @param args the command line arguments, unused
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("transport.runs", 5);
+        List<TransportType> types = Arrays.stream(System.getProperty("transport.types", "REACTOR_NETTY,JDK")
+                        .split(","))
+                .map(String::trim)
+                .map(TransportType::valueOf)
+                .toList();
+        String jvmArgs = System.getProperty("transport.jvmArgs", "").trim();
+        Path outputDir = Path.of(System.getProperty("transport.outputDir", "build/reports/transport"));
+        Path workDir = Files.createTempDirectory("gcash-transport");
+
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+        Files.writeString(workDir.resolve("client-private.pem"), SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        Files.writeString(workDir.resolve("gateway-public.pem"), SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+
+        try (GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .secure(true)
+                .build()
+                .start()) {
+            Path trustStore = ColdStartBenchmark.writeTrustStore(simulator, workDir.resolve("truststore.p12"));
+
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            if (!jvmArgs.isEmpty()) {
+                command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("-Djavax.net.ssl.trustStore=" + trustStore);
+            command.add("-Djavax.net.ssl.trustStoreType=PKCS12");
+            command.add("-Djavax.net.ssl.trustStorePassword="
+                    + new String(ColdStartBenchmark.TRUST_STORE_PASSWORD));
+            command.add("-Dtransport.keyDirectory=" + workDir);
+            command.add("-Dgcash.paymentGatewayUrl=" + simulator.getBaseUrl());
+            command.add("-Dgcash.clientId=2023010112345678901234");
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(name -> (name.startsWith("gcash.") && !name.equals("gcash.transport.type"))
+                            || name.equals("transport.requests") || name.equals("transport.concurrency"))
+                    .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+
+            Map<TransportType, List<Map<String, Double>>> results = new LinkedHashMap<>();
+            for (int run = 1; run <= runs; run++) {
+                for (TransportType type : types) {
+                    Map<String, Double> result = launch(command, type);
+                    results.computeIfAbsent(type, t -> new ArrayList<>()).add(result);
+                    System.out.printf(Locale.ROOT, "Run %d/%d %s: startup %.0f ms, %.0f req/s, heap %.1f MB%n",
+                            run, runs, type, result.get("startup_ms"), result.get("throughput_rps"),
+                            result.get("heap_mb"));
+                }
+            }
+
+            report(results, outputDir);
+        } finally {
+            try (var files = Files.list(workDir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    private static Map<String, Double> launch(List<String> command, TransportType type)
+            throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("-Dgcash.transport.type=" + type);
+        // the launch time is passed right before the main class so that the probe can time the JVM boot
+        arguments.add("-Dtransport.launchedAt=" + System.currentTimeMillis());
+        arguments.add(TransportProbe.class.getName());
+
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .start();
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = process.inputReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(TransportProbe.RESULT_PREFIX)) {
+                    for (String metric : line.substring(TransportProbe.RESULT_PREFIX.length()).split(",")) {
+                        String[] pair = metric.split("=");
+                        result.put(pair[0], Double.parseDouble(pair[1]));
+                    }
+                } else {
+                    output.add(line);
+                }
+            }
+        }
+
+        int exitCode = process.waitFor();
+        if (result.isEmpty()) {
+            throw new IllegalStateException("The " + type + " transport probe exited with " + exitCode
+                    + System.lineSeparator() + String.join(System.lineSeparator(), output));
+        }
+
+        return result;
+    }
+
+    private static void report(Map<TransportType, List<Map<String, Double>>> results, Path outputDir)
+            throws IOException {
+        Files.createDirectories(outputDir);
+        List<TransportType> types = new ArrayList<>(results.keySet());
+        List<String> metrics = new ArrayList<>(results.get(types.get(0)).get(0).keySet());
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("runs.csv")))) {
+            csv.println("transport,run," + String.join(",", metrics));
+            results.forEach((type, runs) -> {
+                for (int run = 0; run < runs.size(); run++) {
+                    StringBuilder line = new StringBuilder().append(type).append(',').append(run + 1);
+                    for (String metric : metrics) {
+                        line.append(',').append(format(runs.get(run).get(metric)));
+                    }
+                    csv.println(line);
+                }
+            });
+        }
+
+        StringBuilder header = new StringBuilder(String.format(Locale.ROOT, "%n%-18s", "median"));
+        types.forEach(type -> header.append(String.format(Locale.ROOT, " %14s", type)));
+        System.out.println(header);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("summary.csv")))) {
+            csv.println("metric," + String.join(",", types.stream().map(TransportType::name).toList()));
+            for (String metric : metrics) {
+                StringBuilder line = new StringBuilder(metric);
+                StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%-18s", metric));
+                for (TransportType type : types) {
+                    double median = median(results.get(type).stream()
+                            .mapToDouble(result -> result.get(metric))
+                            .sorted()
+                            .toArray());
+                    line.append(',').append(format(median));
+                    row.append(String.format(Locale.ROOT, " %14s", format(median)));
+                }
+                csv.println(line);
+                System.out.println(row);
+            }
+        }
+
+        System.out.printf("%nReports written to %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
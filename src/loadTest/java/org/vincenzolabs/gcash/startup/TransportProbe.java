@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashAutoConfiguration;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The fresh JVM launched by {@link TransportBenchmark} for one {@code gcash.transport.type}. It wires
+ * {@link GCashV1Client} in a Spring context, times the first verified payment from the JVM launch, sends
+ * {@code transport.requests} payments at {@code transport.concurrency} and then measures the footprint of the JVM. The
+ * results are printed on a single {@value #RESULT_PREFIX} line.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class TransportProbe {
+
+    /**
+     * The prefix of the result line.
+     */
+    static final String RESULT_PREFIX = "TRANSPORT ";
+
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    private TransportProbe() {
+    }
+
+    /**
+     * Measures the startup, the throughput and the footprint of the configured transport.
+     *
+     * @param args the command line arguments, unused
+     * @throws Exception if the first payment fails
+     */
+    public static void main(String[] args) throws Exception {
+        int requests = Integer.getInteger("transport.requests", 20_000);
+        int concurrency = Integer.getInteger("transport.concurrency", 64);
+        Path keyDirectory = Path.of(System.getProperty("transport.keyDirectory"));
+        Map<String, Double> results = new LinkedHashMap<>();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("transport", Map.of(
+                    "gcash.signing.keyVersion", "1",
+                    "gcash.signing.privateKey", Files.readString(keyDirectory.resolve("client-private.pem")),
+                    "gcash.signing.publicKey", Files.readString(keyDirectory.resolve("gateway-public.pem")))));
+            context.registerBean(ObjectMapper.class, () -> JsonMapper.builder()
+                    .addModule(new JavaTimeModule())
+                    .build());
+            context.register(GCashAutoConfiguration.class);
+            context.refresh();
+
+            GCashV1Client client = context.getBean(GCashV1Client.class);
+            client.createPayment(payment()).block();
+            results.put("startup_ms",
+                    (double) (System.currentTimeMillis() - Long.getLong("transport.launchedAt")));
+            results.put("startup_classes",
+                    (double) ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+
+            // the first tenth warms up the JIT and the connections
+            send(client, Math.max(1, requests / 10), concurrency, new ConcurrentHistogram(3), new LongAdder());
+
+            Histogram histogram = new ConcurrentHistogram(3);
+            LongAdder errors = new LongAdder();
+            long startNanos = System.nanoTime();
+            send(client, requests, concurrency, histogram, errors);
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+            results.put("throughput_rps", requests / seconds);
+            results.put("p50_ms", histogram.getValueAtPercentile(50) / 1e3);
+            results.put("p99_ms", histogram.getValueAtPercentile(99) / 1e3);
+            results.put("errors", (double) errors.sum());
+
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            System.gc();
+            results.put("threads", (double) threadMXBean.getThreadCount());
+            results.put("peak_threads", (double) threadMXBean.getPeakThreadCount());
+            results.put("classes", (double) ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+            results.put("heap_mb", memoryMXBean.getHeapMemoryUsage().getUsed() / MEGABYTE);
+            results.put("non_heap_mb", memoryMXBean.getNonHeapMemoryUsage().getUsed() / MEGABYTE);
+            results.put("rss_mb", residentSetSize());
+
+            // printed before the context is closed so that the launcher does not wait for the shutdown
+            StringJoiner result = new StringJoiner(",", RESULT_PREFIX, "");
+            results.forEach((name, value) -> result.add(name + "=" + String.format(Locale.ROOT, "%.2f", value)));
+            System.out.println(result);
+            System.out.flush();
+        }
+
+        System.exit(0);
+    }
+
+    private static void send(GCashV1Client client, int requests, int concurrency, Histogram histogram,
+                             LongAdder errors) {
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long startNanos = System.nanoTime();
+                    return client.createPayment(payment())
+                            .doOnSuccess(response -> histogram.recordValue((System.nanoTime() - startNanos) / 1_000))
+                            .onErrorResume(e -> {
+                                errors.increment();
+                                return Mono.<PaymentResponse>empty();
+                            });
+                }, concurrency)
+                .blockLast();
+    }
+
+    private static PaymentRequest payment() {
+        return PaymentRequest.builder()
+                .partnerId(System.getProperty("gcash.clientId"))
+                .paymentRequestId(UUID.randomUUID().toString())
+                .paymentOrderTitle("Transport benchmark")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build();
+    }
+
+    private static double residentSetSize() {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(status);
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+
+        return -1;
+    }
+}
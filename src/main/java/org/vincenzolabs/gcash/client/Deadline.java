@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The caller deadline propagated through the Reactor {@link Context}, e.g.
+ * {@code client.createPayment(request).contextWrite(Deadline.after(Duration.ofSeconds(3)).toContext())}. Requests
+ * whose deadline has passed are discarded before they are signed.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline after the given timeout.
+     *
+     * @param timeout the timeout {@link Duration}
+     * @return the {@link Deadline}
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Creates a deadline at the given instant.
+     *
+     * @param instant the {@link Instant}
+     * @return the {@link Deadline}
+     */
+    public static Deadline at(Instant instant) {
+        return after(Duration.between(Instant.now(), instant));
+    }
+
+    /**
+     * Returns whether the deadline has passed.
+     *
+     * @return {@code true} if the deadline has passed
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Returns the time remaining until the deadline.
+     *
+     * @return the remaining {@link Duration}, never negative
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Returns the Reactor {@link Context} carrying this deadline.
+     *
+     * @return the {@link Context}
+     */
+    public Context toContext() {
+        return Context.of(Deadline.class, this);
+    }
+}
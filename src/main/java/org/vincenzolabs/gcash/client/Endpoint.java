@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.vincenzolabs.gcash.scheduling.RequestPriority;
+
+/**
+ * The enumeration of GCash v1 endpoints.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+
+    /**
+     * Applies for an access token.
+     */
+    ACCESS_TOKEN("/v1/authorizations/applyToken", EndpointGroup.AUTH, RequestPriority.CRITICAL),
+    /**
+     * Cancels an access token.
+     */
+    ACCESS_TOKEN_CANCELLATION("/v1/authorizations/cancelToken", EndpointGroup.AUTH, RequestPriority.NORMAL),
+    /**
+     * Creates a payment.
+     */
+    PAYMENT("/v1/payments/pay", EndpointGroup.WRITE, RequestPriority.CRITICAL),
+    /**
+     * Inquires a payment.
+     */
+    PAYMENT_INQUIRY("/v1/payments/inquiryPayment", EndpointGroup.INQUIRY, RequestPriority.NORMAL),
+    /**
+     * Notifies a payment.
+     */
+    PAYMENT_NOTIFICATION("/v1/payments/notifyPayment", EndpointGroup.INQUIRY, RequestPriority.NORMAL),
+    /**
+     * Creates a refund.
+     */
+    REFUND("/v1/payments/refund", EndpointGroup.WRITE, RequestPriority.HIGH),
+    /**
+     * Inquires a refund.
+     */
+    REFUND_INQUIRY("/v1/payments/inquiryRefund", EndpointGroup.INQUIRY, RequestPriority.NORMAL),
+    /**
+     * Inquires the user information by access token.
+     */
+    USER_INFORMATION_INQUIRY("/v1/customers/user/inquiryUserInfoByAccessToken", EndpointGroup.USER_INFO, RequestPriority.NORMAL);
+
+    /**
+     * The request path relative to the payment gateway URL.
+     */
+    private final String path;
+
+    /**
+     * The {@link EndpointGroup} whose bulkhead isolates this endpoint.
+     */
+    private final EndpointGroup group;
+
+    /**
+     * The default {@link RequestPriority}.
+     */
+    private final RequestPriority priority;
+}
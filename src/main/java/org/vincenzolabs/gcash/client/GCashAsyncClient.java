@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.AccessTokenRequest;
+import org.vincenzolabs.gcash.dto.AccessTokenResponse;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentNotificationRequest;
+import org.vincenzolabs.gcash.dto.PaymentNotificationResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.dto.RefundInquiryRequest;
+import org.vincenzolabs.gcash.dto.RefundInquiryResponse;
+import org.vincenzolabs.gcash.dto.RefundRequest;
+import org.vincenzolabs.gcash.dto.RefundResponse;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.dto.UserInformationResponse;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@link CompletableFuture} facade of the {@link GCashV1Client} for callers outside Reactor. No thread is blocked
+ * while a request is outstanding, and the futures are completed on the {@link Executor} rather than on the event
+ * loops, so that the dependent actions of the caller cannot block the I/O of other requests. Cancelling a future
+ * cancels its request.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GCashAsyncClient {
+
+    private final GCashV1Client client;
+
+    private final Executor executor;
+
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Creates the client that completes the futures on the {@link ForkJoinPool#commonPool()}.
+     *
+     * @param client the {@link GCashV1Client}
+     * @param async  the {@link GCashProperties.Async}
+     */
+    public GCashAsyncClient(GCashV1Client client, GCashProperties.Async async) {
+        this(client, async, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param client   the {@link GCashV1Client}
+     * @param async    the {@link GCashProperties.Async}
+     * @param executor the {@link Executor} that completes the futures
+     */
+    public GCashAsyncClient(GCashV1Client client, GCashProperties.Async async, Executor executor) {
+        this.client = client;
+        this.executor = executor;
+        this.maxInFlight = async.getMaxInFlight();
+    }
+
+    /**
+     * Requests for an access token.
+     *
+     * @param accessTokenRequest the {@link AccessTokenRequest}
+     * @return the {@link CompletableFuture} of the {@link AccessTokenResponse}
+     */
+    public CompletableFuture<AccessTokenResponse> applyAccessTokenAsync(AccessTokenRequest accessTokenRequest) {
+        return execute(() -> client.applyAccessToken(accessTokenRequest));
+    }
+
+    /**
+     * Cancels/revokes the access token.
+     *
+     * @param accessToken the access token
+     * @param extendInfo  the extended information/metadata
+     * @return the {@link CompletableFuture} of the {@link Result}
+     */
+    public CompletableFuture<Result> cancelAccessTokenAsync(String accessToken, String extendInfo) {
+        return execute(() -> client.cancelAccessToken(accessToken, extendInfo));
+    }
+
+    /**
+     * Creates a payment.
+     *
+     * @param paymentRequest the {@link PaymentRequest}
+     * @return the {@link CompletableFuture} of the {@link PaymentResponse}
+     */
+    public CompletableFuture<PaymentResponse> createPaymentAsync(PaymentRequest paymentRequest) {
+        return execute(() -> client.createPayment(paymentRequest));
+    }
+
+    /**
+     * Retrieves a payment.
+     *
+     * @param paymentInquiryRequest the {@link PaymentInquiryRequest}
+     * @return the {@link CompletableFuture} of the {@link PaymentInquiryResponse}
+     */
+    public CompletableFuture<PaymentInquiryResponse> retrievePaymentAsync(PaymentInquiryRequest paymentInquiryRequest) {
+        return execute(() -> client.retrievePayment(paymentInquiryRequest));
+    }
+
+    /**
+     * Retrieves a payment notification.
+     *
+     * @param paymentNotificationRequest the {@link PaymentNotificationRequest}
+     * @return the {@link CompletableFuture} of the {@link PaymentNotificationResponse}
+     */
+    public CompletableFuture<PaymentNotificationResponse> retrievePaymentNotificationAsync(
+            PaymentNotificationRequest paymentNotificationRequest) {
+        return execute(() -> client.retrievePaymentNotification(paymentNotificationRequest));
+    }
+
+    /**
+     * Creates a refund.
+     *
+     * @param refundRequest the {@link RefundRequest}
+     * @return the {@link CompletableFuture} of the {@link RefundResponse}
+     */
+    public CompletableFuture<RefundResponse> createRefundAsync(RefundRequest refundRequest) {
+        return execute(() -> client.createRefund(refundRequest));
+    }
+
+    /**
+     * Retrieves a refund.
+     *
+     * @param refundInquiryRequest the {@link RefundInquiryRequest}
+     * @return the {@link CompletableFuture} of the {@link RefundInquiryResponse}
+     */
+    public CompletableFuture<RefundInquiryResponse> retrieveRefundAsync(RefundInquiryRequest refundInquiryRequest) {
+        return execute(() -> client.retrieveRefund(refundInquiryRequest));
+    }
+
+    /**
+     * Retrieves the user information.
+     *
+     * @param accessToken the access token
+     * @param extendInfo  the extended information/metadata
+     * @return the {@link CompletableFuture} of the {@link UserInformationResponse}
+     */
+    public CompletableFuture<UserInformationResponse> retrieveUserInformationAsync(String accessToken,
+                                                                                   String extendInfo) {
+        return execute(() -> client.retrieveUserInformation(accessToken, extendInfo));
+    }
+
+    /**
+     * Returns the number of futures not yet completed.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private <T> CompletableFuture<T> execute(Supplier<Mono<T>> request) {
+        if (inFlight.incrementAndGet() > maxInFlight && maxInFlight > 0) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                    "Too many asynchronous requests in flight", null));
+        }
+
+        CompletableFuture<T> response;
+        try {
+            response = request.get()
+                    .doFinally(signalType -> inFlight.decrementAndGet())
+                    .toFuture();
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        response.whenComplete((value, error) -> complete(future, value, error));
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                response.cancel(false);
+            }
+        });
+
+        return future;
+    }
+
+    private <T> void complete(CompletableFuture<T> future, T value, Throwable error) {
+        Runnable completion = error == null
+                ? () -> future.complete(value)
+                : () -> future.completeExceptionally(error);
+        try {
+            executor.execute(completion);
+        } catch (RuntimeException e) {
+            log.warn("Failed to complete a GCash future on {}, completing it on the calling thread", executor, e);
+            completion.run();
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.AccessTokenRequest;
+import org.vincenzolabs.gcash.dto.AccessTokenResponse;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentNotificationRequest;
+import org.vincenzolabs.gcash.dto.PaymentNotificationResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.dto.RefundInquiryRequest;
+import org.vincenzolabs.gcash.dto.RefundInquiryResponse;
+import org.vincenzolabs.gcash.dto.RefundRequest;
+import org.vincenzolabs.gcash.dto.RefundResponse;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.dto.UserInformationResponse;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.transport.JdkHttpTransport;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The blocking GCash v1 client on the JDK {@link HttpClient}, for callers that block, e.g. on virtual threads. It
+ * shares the {@link GCashCodec}, i.e. the parsed keys and the JSON mapping, with {@link GCashV1Client}. Requests go to
+ * the gateways in order of preference, and to the next one only if the connection fails. The rate limiter, the
+ * bulkheads, the priority scheduler, compression, wire logging, metrics and tracing of {@link GCashV1Client} are not
+ * supported. Every call blocks the calling thread without holding a monitor, so a virtual thread is never pinned.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GCashClient implements DisposableBean {
+
+    private final GCashCodec codec;
+
+    private final List<URI> gatewayUrls;
+
+    private final boolean http2;
+
+    private final Map<Endpoint, Duration> responseTimeouts = new EnumMap<>(Endpoint.class);
+
+    private final int maxConcurrency;
+
+    private final Semaphore permits;
+
+    private final Duration acquireTimeout;
+
+    private final Duration connectTimeout;
+
+    private final SSLContext sslContext;
+
+    private final SSLParameters sslParameters;
+
+    private volatile boolean suspended;
+
+    private volatile ExecutorService executor;
+
+    private volatile HttpClient httpClient;
+
+    /**
+     * Default constructor.
+     *
+     * @param codec      the {@link GCashCodec}
+     * @param properties the {@link GCashProperties}
+     */
+    public GCashClient(GCashCodec codec, GCashProperties properties) {
+        this.codec = codec;
+        this.gatewayUrls = (properties.getRouting().getGatewayUrls().isEmpty()
+                ? List.of(properties.getPaymentGatewayUrl())
+                : properties.getRouting().getGatewayUrls())
+                .stream()
+                .map(URI::create)
+                .toList();
+        this.http2 = properties.getHttp2().isEnabled();
+
+        GCashProperties.Timeouts timeouts = properties.getTimeouts();
+        for (Endpoint endpoint : Endpoint.values()) {
+            GCashProperties.EndpointTimeouts endpointTimeouts = timeouts.getEndpoints().get(endpoint);
+            Duration responseTimeout = endpointTimeouts == null || endpointTimeouts.getResponseTimeout() == null
+                    ? timeouts.getResponseTimeout() : endpointTimeouts.getResponseTimeout();
+            if (responseTimeout != null) {
+                responseTimeouts.put(endpoint, responseTimeout);
+            }
+        }
+
+        GCashProperties.Blocking blocking = properties.getBlocking();
+        this.maxConcurrency = blocking.getMaxConcurrency();
+        this.permits = new Semaphore(maxConcurrency);
+        this.acquireTimeout = blocking.getAcquireTimeout();
+        this.connectTimeout = blocking.getConnectTimeout();
+        this.sslContext = JdkHttpTransport.createSslContext(properties.getTls());
+        this.sslParameters = JdkHttpTransport.createSslParameters(properties.getTls());
+
+        createHttpClient();
+    }
+
+    private void createHttpClient() {
+        ExecutorService threads = VirtualThreads.newThreadPerTaskExecutor("gcash-http-");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .sslContext(sslContext)
+                .sslParameters(sslParameters)
+                .executor(threads)
+                .build();
+        this.executor = threads;
+    }
+
+    /**
+     * Requests for an access token.
+     *
+     * @param accessTokenRequest the {@link AccessTokenRequest}
+     * @return the {@link AccessTokenResponse}
+     */
+    public AccessTokenResponse applyAccessToken(AccessTokenRequest accessTokenRequest) {
+        return exchange(Endpoint.ACCESS_TOKEN, accessTokenRequest, AccessTokenResponse.class);
+    }
+
+    /**
+     * Cancels/revokes the access token.
+     *
+     * @param accessToken the access token
+     * @param extendInfo  the extended information/metadata
+     * @return the {@link Result}
+     */
+    public Result cancelAccessToken(String accessToken, String extendInfo) {
+        return exchange(Endpoint.ACCESS_TOKEN_CANCELLATION,
+                Map.of("accessToken", accessToken, "extendInfo", extendInfo), Result.class);
+    }
+
+    /**
+     * Creates a payment.
+     *
+     * @param paymentRequest the {@link PaymentRequest}
+     * @return the {@link PaymentResponse}
+     */
+    public PaymentResponse createPayment(PaymentRequest paymentRequest) {
+        return exchange(Endpoint.PAYMENT, paymentRequest, PaymentResponse.class);
+    }
+
+    /**
+     * Retrieves a payment.
+     *
+     * @param paymentInquiryRequest the {@link PaymentInquiryRequest}
+     * @return the {@link PaymentInquiryResponse}
+     */
+    public PaymentInquiryResponse retrievePayment(PaymentInquiryRequest paymentInquiryRequest) {
+        return exchange(Endpoint.PAYMENT_INQUIRY, paymentInquiryRequest, PaymentInquiryResponse.class);
+    }
+
+    /**
+     * Retrieves a payment notification.
+     *
+     * @param paymentNotificationRequest the {@link PaymentNotificationRequest}
+     * @return the {@link PaymentNotificationResponse}
+     */
+    public PaymentNotificationResponse retrievePaymentNotification(
+            PaymentNotificationRequest paymentNotificationRequest) {
+        return exchange(Endpoint.PAYMENT_NOTIFICATION, paymentNotificationRequest, PaymentNotificationResponse.class);
+    }
+
+    /**
+     * Creates a refund.
+     *
+     * @param refundRequest the {@link RefundRequest}
+     * @return the {@link RefundResponse}
+     */
+    public RefundResponse createRefund(RefundRequest refundRequest) {
+        return exchange(Endpoint.REFUND, refundRequest, RefundResponse.class);
+    }
+
+    /**
+     * Retrieves a refund.
+     *
+     * @param refundInquiryRequest the {@link RefundInquiryRequest}
+     * @return the {@link RefundInquiryResponse}
+     */
+    public RefundInquiryResponse retrieveRefund(RefundInquiryRequest refundInquiryRequest) {
+        return exchange(Endpoint.REFUND_INQUIRY, refundInquiryRequest, RefundInquiryResponse.class);
+    }
+
+    /**
+     * Retrieves the user information.
+     *
+     * @param accessToken the access token
+     * @param extendInfo  the extended information/metadata
+     * @return the {@link UserInformationResponse}
+     */
+    public UserInformationResponse retrieveUserInformation(String accessToken, String extendInfo) {
+        return exchange(Endpoint.USER_INFORMATION_INQUIRY,
+                Map.of("accessToken", accessToken, "extendInfo", extendInfo), UserInformationResponse.class);
+    }
+
+    /**
+     * Suspends the client, e.g. before a checkpoint of the JVM. New requests fail with
+     * {@link HttpStatus#SERVICE_UNAVAILABLE}, the requests in flight are given {@code drainTimeout} to complete, and
+     * then the {@link HttpClient} is closed and its cached TLS sessions are invalidated. The {@link HttpClient} only
+     * closes its connections on Java 21 and later, so on earlier versions a checkpoint fails while any of them is open.
+     *
+     * @param drainTimeout the maximum time to wait for the requests in flight
+     * @return {@code true} if every request in flight completed within the timeout
+     */
+    public boolean suspend(Duration drainTimeout) {
+        suspended = true;
+
+        boolean drained;
+        try {
+            drained = permits.tryAcquire(maxConcurrency, drainTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+
+        if (drained) {
+            permits.release(maxConcurrency);
+        }
+
+        if (!JdkHttpTransport.close(httpClient, executor, Duration.ZERO)) {
+            log.warn("The JDK HttpClient cannot close its connections before Java 21, so a checkpoint fails while any "
+                    + "connection to the payment gateways is open");
+        }
+        JdkHttpTransport.invalidateSessions(sslContext);
+
+        return drained;
+    }
+
+    /**
+     * Resumes the client after {@link #suspend(Duration)}, e.g. after the JVM is restored from a checkpoint. A new
+     * {@link HttpClient} is created, so the gateway hosts are resolved again on the next connection.
+     */
+    public void resume() {
+        if (!suspended) {
+            return;
+        }
+
+        createHttpClient();
+        suspended = false;
+    }
+
+    /**
+     * Closes the {@link HttpClient} and shuts down its threads.
+     */
+    @Override
+    public void destroy() {
+        JdkHttpTransport.close(httpClient, executor, Duration.ZERO);
+    }
+
+    private <T> T exchange(Endpoint endpoint, Object request, Class<T> clazz) {
+        acquire(endpoint);
+        try {
+            String path = endpoint.getPath();
+            String requestTime = codec.requestTime();
+            String payload = codec.serialize(request);
+            String signature = codec.signatureHeader(codec.sign(path, requestTime, payload));
+
+            for (int i = 0; ; i++) {
+                URI gatewayUrl = gatewayUrls.get(i);
+                try {
+                    return receive(endpoint, send(endpoint, gatewayUrl, requestTime, payload, signature), clazz);
+                } catch (IOException e) {
+                    // only the connect errors are propagated by send
+                    if (i + 1 == gatewayUrls.size()) {
+                        throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                                "Failed to connect to payment gateway " + gatewayUrl, e);
+                    }
+
+                    log.warn("Failed to connect to payment gateway {}, failing over to {}", gatewayUrl,
+                            gatewayUrls.get(i + 1));
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire(Endpoint endpoint) {
+        if (suspended) {
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "", "The blocking client is suspended", null);
+        }
+
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                        "Too many concurrent requests to " + endpoint.getPath(), null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                    "Interrupted while waiting to send " + endpoint.getPath(), e);
+        }
+    }
+
+    private HttpResponse<String> send(Endpoint endpoint, URI gatewayUrl, String requestTime, String payload,
+                                      String signature) throws IOException {
+        // resolving the absolute path would drop the path prefix of the gateway URL
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                        URI.create(StringUtils.removeEnd(gatewayUrl.toString(), "/") + endpoint.getPath()))
+                .version(http2 && "https".equalsIgnoreCase(gatewayUrl.getScheme())
+                        ? HttpClient.Version.HTTP_2
+                        : HttpClient.Version.HTTP_1_1)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("Signature", signature)
+                .header("Client-Id", codec.getClientId())
+                .header("Request-Time", requestTime)
+                .POST(HttpRequest.BodyPublishers.ofString(payload));
+
+        Duration responseTimeout = responseTimeouts.get(endpoint);
+        if (responseTimeout != null) {
+            builder.timeout(responseTimeout);
+        }
+
+        try {
+            return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            if (JdkHttpTransport.isConnectException(e)) {
+                throw e;
+            }
+
+            if (e instanceof HttpTimeoutException) {
+                throw new ApiException(HttpStatus.GATEWAY_TIMEOUT, "", "Timed out waiting for " + endpoint.getPath(),
+                        e);
+            }
+
+            throw new ApiException(HttpStatus.BAD_GATEWAY, "", "Failed to send request to " + endpoint.getPath(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                    "Interrupted while waiting for " + endpoint.getPath(), e);
+        }
+    }
+
+    private <T> T receive(Endpoint endpoint, HttpResponse<String> response, Class<T> clazz) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+
+        if (status.is2xxSuccessful()) {
+            if (StringUtils.isBlank(response.headers().firstValue("Client-Id").orElse(null))) {
+                throw new ApiException(HttpStatus.BAD_GATEWAY, "", "Client-Id response header is missing", null);
+            }
+
+            String responseTime = response.headers().firstValue("Response-Time").orElse(null);
+            if (StringUtils.isBlank(responseTime)) {
+                throw new ApiException(HttpStatus.BAD_GATEWAY, "", "Response-Time response header is missing", null);
+            }
+
+            String signature = response.headers().firstValue("Signature").orElse(null);
+            if (StringUtils.isBlank(signature)) {
+                throw new ApiException(HttpStatus.BAD_GATEWAY, "", "Signature response header is missing", null);
+            }
+
+            String signedPayload = Signatures.parseSignature(signature);
+            if (signedPayload == null) {
+                throw new ApiException(HttpStatus.BAD_GATEWAY, "", "Signature is missing", null);
+            }
+
+            if (!codec.verify(endpoint.getPath(), responseTime, response.body(), signedPayload)) {
+                throw new ApiException(status, "", "Signature verification failed", null);
+            }
+
+            return codec.deserialize(response.body(), clazz);
+        }
+
+        if (status.isError()) {
+            if (StringUtils.isBlank(response.body())) {
+                throw new ApiException(status, null, null, null);
+            }
+
+            Result result = codec.deserialize(response.body(), Result.class);
+            throw new ApiException(status, result);
+        }
+
+        throw new ApiException(status, "", "Unexpected response from " + endpoint.getPath(), null);
+    }
+}
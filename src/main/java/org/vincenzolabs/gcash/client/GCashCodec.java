@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.jfr.GCashSignEvent;
+import org.vincenzolabs.gcash.jfr.GCashVerifyEvent;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * The signing, verification and JSON mapping of the payloads exchanged with the payment gateway, shared by
+ * {@link GCashV1Client} and {@link GCashClient}. The keys are parsed once. Every call creates its own
+ * {@link java.security.Signature}, so the codec holds no lock and is safe to use from any number of platform or
+ * virtual threads.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class GCashCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private final String clientId;
+
+    private final ZoneId zoneId;
+
+    @Getter
+    private final String keyVersion;
+
+    private final String algorithm;
+
+    private final PrivateKey privateKey;
+
+    private final PublicKey publicKey;
+
+    /**
+     * Default constructor.
+     *
+     * @param objectMapper the {@link ObjectMapper}
+     * @param properties   the {@link GCashProperties}
+     * @throws IllegalStateException if the signing keys cannot be parsed
+     */
+    public GCashCodec(ObjectMapper objectMapper, GCashProperties properties) {
+        GCashProperties.Signing signing = properties.getSigning();
+        this.objectMapper = objectMapper;
+        this.clientId = properties.getClientId();
+        this.zoneId = properties.getZoneId();
+        this.keyVersion = signing.getKeyVersion();
+        this.algorithm = signing.getAlgorithm();
+        try {
+            this.privateKey = Signatures.parsePrivateKey(signing.getPrivateKey());
+            this.publicKey = Signatures.parsePublicKey(signing.getPublicKey());
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Failed to parse the gcash.signing keys", e);
+        }
+    }
+
+    /**
+     * Returns the current time in the configured zone for the {@code Request-Time} header.
+     *
+     * @return the request time
+     */
+    public String requestTime() {
+        return OffsetDateTime.now(zoneId).toString();
+    }
+
+    /**
+     * Serializes the request payload.
+     *
+     * @param payload the request payload
+     * @return the JSON payload
+     * @throws ApiException if the payload cannot be serialized
+     */
+    public String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "", "Failed to serialize request payload", e);
+        }
+    }
+
+    /**
+     * Deserializes the response payload.
+     *
+     * @param payload the JSON payload
+     * @param clazz   the response type
+     * @param <T>     the response type
+     * @return the response
+     * @throws ApiException if the payload cannot be deserialized
+     */
+    public <T> T deserialize(String payload, Class<T> clazz) {
+        try {
+            return objectMapper.readValue(payload, clazz);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "", "Failed to deserialize response payload", e);
+        }
+    }
+
+    /**
+     * Signs the request payload.
+     *
+     * @param path        the endpoint path
+     * @param requestTime the request time
+     * @param payload     the request payload
+     * @return the URL-safe Base64-encoded signature
+     * @throws ApiException if the payload cannot be signed
+     */
+    public String sign(String path, String requestTime, String payload) {
+        String contentToBeSigned = Signatures.content(path, clientId, requestTime, payload);
+
+        GCashSignEvent event = new GCashSignEvent();
+        event.begin();
+        try {
+            return Signatures.sign(privateKey, contentToBeSigned);
+        } catch (GeneralSecurityException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "", "Failed to sign request payload", e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setKeyVersion(keyVersion);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code Signature} request header.
+     *
+     * @param signedPayload the signature returned by {@link #sign(String, String, String)}
+     * @return the {@code Signature} header
+     */
+    public String signatureHeader(String signedPayload) {
+        return "algorithm=" + algorithm + ", keyVersion=" + keyVersion + ", signature=" + signedPayload;
+    }
+
+    /**
+     * Verifies the signature of the response payload.
+     *
+     * @param path          the endpoint path
+     * @param time          the response time
+     * @param payload       the response payload
+     * @param signedPayload the signature of the {@code Signature} response header
+     * @return {@code true} if the signature is valid
+     * @throws ApiException if the signature cannot be verified
+     */
+    public boolean verify(String path, String time, String payload, String signedPayload) {
+        String contentToBeValidated = Signatures.content(path, clientId, time, payload);
+
+        GCashVerifyEvent event = new GCashVerifyEvent();
+        event.begin();
+        boolean verified = false;
+        try {
+            verified = Signatures.verify(publicKey, contentToBeValidated, signedPayload);
+            return verified;
+        } catch (GeneralSecurityException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "", "Failed to verify response payload", e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setKeyVersion(keyVersion);
+                event.setVerified(verified);
+                event.commit();
+            }
+        }
+    }
+}
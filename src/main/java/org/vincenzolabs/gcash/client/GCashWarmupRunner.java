@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.vincenzolabs.gcash.config.GCashProperties;
+
+import java.time.Duration;
+
+/**
+ * Warms up the {@link GCashV1Client} at startup. Application runners complete before Spring Boot reports the
+ * readiness state as accepting traffic, so the application only becomes ready once the warm-up is done or has timed
+ * out.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GCashWarmupRunner implements ApplicationRunner {
+
+    private final GCashV1Client client;
+
+    private final GCashProperties.Warmup warmup;
+
+    /**
+     * Default constructor.
+     *
+     * @param client     the {@link GCashV1Client}
+     * @param properties the {@link GCashProperties}
+     */
+    @Autowired
+    public GCashWarmupRunner(GCashV1Client client, GCashProperties properties) {
+        this.client = client;
+        this.warmup = properties.getWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmup.isEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            client.warmUp().block(warmup.getTimeout());
+            log.info("GCash client warmed up in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("GCash client warm-up did not complete within {}", warmup.getTimeout(), e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.vincenzolabs.gcash.client.GCashAsyncClient;
+import org.vincenzolabs.gcash.client.GCashClient;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.client.GCashWarmupRunner;
+import org.vincenzolabs.gcash.logging.WireLogMode;
+import org.vincenzolabs.gcash.transport.GCashTransport;
+import org.vincenzolabs.gcash.transport.JdkHttpTransport;
+import org.vincenzolabs.gcash.transport.ReactorNettyTransport;
+import org.vincenzolabs.gcash.transport.TransportType;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates the {@link GCashV1Client} from the validated {@link GCashProperties}. The signing keys, gateway router and
+ * wire logger are built once when the client is created, and the warm-up runner is only created when the warm-up is
+ * enabled. The default {@link ReactorNettyTransport} is only created when Reactor Netty and Spring WebFlux are on the
+ * classpath, i.e. unless the application excludes them, otherwise the client falls back to the
+ * {@link JdkHttpTransport}. The {@link GCashRuntimeHints} make the
+ * client usable in a GraalVM native image.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@EnableConfigurationProperties(GCashProperties.class)
+@ImportRuntimeHints(GCashRuntimeHints.class)
+public class GCashAutoConfiguration {
+
+    private static final Profiles DEBUG_PROFILES = Profiles.of("local | dev | test");
+
+    private static final String TRANSPORT_TYPE = "gcash.transport.type";
+
+    /**
+     * Creates the {@link GCashV1Client}. If no {@link WireLogMode} is set, every exchange is logged when the
+     * {@code local}, {@code dev} or {@code test} profile is active.
+     *
+     * @param objectMapper the {@link ObjectMapper} provider
+     * @param properties   the {@link GCashProperties}
+     * @param environment  the {@link Environment}
+     * @return the {@link GCashV1Client}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public GCashV1Client gcashV1Client(ObjectProvider<ObjectMapper> objectMapper, GCashProperties properties,
+                                       Environment environment) {
+        GCashV1Client client = new GCashV1Client(objectMapper.getIfAvailable(() -> JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .build()), properties);
+        // the bound properties are left as configured
+        client.setDefaultWireLogMode(environment.acceptsProfiles(DEBUG_PROFILES) ? WireLogMode.ALL : WireLogMode.OFF);
+
+        return client;
+    }
+
+    /**
+     * Creates the {@link JdkHttpTransport} when {@code gcash.transport.type} is {@code JDK} or when Reactor Netty or
+     * Spring WebFlux is not on the classpath. The context fails to start if {@code gcash.transport.type} is explicitly
+     * {@code REACTOR_NETTY} but they are not on the classpath.
+     *
+     * @param properties  the {@link GCashProperties}
+     * @param environment the {@link Environment}
+     * @return the {@link JdkHttpTransport}
+     */
+    @Bean
+    @ConditionalOnMissingBean(GCashTransport.class)
+    public JdkHttpTransport gcashJdkHttpTransport(GCashProperties properties, Environment environment) {
+        if (properties.getTransport().getType() == TransportType.REACTOR_NETTY
+                && environment.containsProperty(TRANSPORT_TYPE)) {
+            throw new IllegalStateException(TRANSPORT_TYPE + " is REACTOR_NETTY but Reactor Netty or Spring WebFlux "
+                    + "is not on the classpath");
+        }
+
+        return new JdkHttpTransport(properties);
+    }
+
+    /**
+     * Creates the {@link GCashAsyncClient}. Its futures are completed on the {@link Executor} bean named
+     * {@code gcashAsyncExecutor}, or else on the {@link ForkJoinPool#commonPool()}.
+     *
+     * @param client     the {@link GCashV1Client}
+     * @param properties the {@link GCashProperties}
+     * @param executor   the {@link Executor} provider
+     * @return the {@link GCashAsyncClient}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public GCashAsyncClient gcashAsyncClient(GCashV1Client client, GCashProperties properties,
+                                             @Qualifier("gcashAsyncExecutor") ObjectProvider<Executor> executor) {
+        return new GCashAsyncClient(client, properties.getAsync(), executor.getIfAvailable(ForkJoinPool::commonPool));
+    }
+
+    /**
+     * Creates the blocking {@link GCashClient} when {@code gcash.blocking.enabled} is {@code true}. It shares the
+     * parsed keys and the JSON mapping of the {@link GCashV1Client}.
+     *
+     * @param client     the {@link GCashV1Client}
+     * @param properties the {@link GCashProperties}
+     * @return the {@link GCashClient}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "gcash.blocking", name = "enabled", havingValue = "true")
+    public GCashClient gcashClient(GCashV1Client client, GCashProperties properties) {
+        return new GCashClient(client.getCodec(), properties);
+    }
+
+    /**
+     * Creates the {@link GCashWarmupRunner} when {@code gcash.warmup.enabled} is {@code true}.
+     *
+     * @param client     the {@link GCashV1Client}
+     * @param properties the {@link GCashProperties}
+     * @return the {@link GCashWarmupRunner}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "gcash.warmup", name = "enabled", havingValue = "true")
+    public GCashWarmupRunner gcashWarmupRunner(GCashV1Client client, GCashProperties properties) {
+        return new GCashWarmupRunner(client, properties);
+    }
+
+    /**
+     * Creates the default {@link ReactorNettyTransport} when Reactor Netty and Spring WebFlux are on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"reactor.netty.http.client.HttpClient",
+            "org.springframework.web.reactive.function.client.WebClient"})
+    @ConditionalOnProperty(prefix = "gcash.transport", name = "type", havingValue = "REACTOR_NETTY",
+            matchIfMissing = true)
+    static class ReactorNettyTransportConfiguration {
+
+        /**
+         * Creates the {@link ReactorNettyTransport}.
+         *
+         * @param properties the {@link GCashProperties}
+         * @return the {@link ReactorNettyTransport}
+         */
+        @Bean
+        @ConditionalOnMissingBean(GCashTransport.class)
+        public ReactorNettyTransport gcashReactorNettyTransport(GCashProperties properties) {
+            return new ReactorNettyTransport(properties);
+        }
+    }
+}
@@ -0,0 +1,706 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.client.Signatures;
+import org.vincenzolabs.gcash.logging.WireLogMode;
+import org.vincenzolabs.gcash.transport.TlsProvider;
+import org.vincenzolabs.gcash.transport.TransportType;
+
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The GCash client properties bound from the {@code gcash} prefix. They are validated when bound, so a missing client
+ * ID, gateway URL or unparsable key fails the application context at startup.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Data
+@Slf4j
+@ConfigurationProperties(prefix = "gcash")
+public class GCashProperties implements Validator {
+
+    /**
+     * The URL of the payment gateway. Ignored if {@link Routing#getGatewayUrls()} is set.
+     */
+    private String paymentGatewayUrl;
+
+    /**
+     * The client ID assigned by GCash.
+     */
+    private String clientId;
+
+    /**
+     * The {@link ZoneId} of the {@code Request-Time} header.
+     */
+    private ZoneId zoneId = ZoneId.of("Asia/Manila");
+
+    /**
+     * The request {@link Signing} configuration.
+     */
+    private Signing signing = new Signing();
+
+    /**
+     * The client-side {@link RateLimit} configuration.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * The {@link Bulkhead} configuration per {@link EndpointGroup}. Groups that are not configured use the defaults.
+     */
+    private Map<EndpointGroup, Bulkhead> bulkheads = new HashMap<>();
+
+    /**
+     * The multi-gateway {@link Routing} configuration.
+     */
+    private Routing routing = new Routing();
+
+    /**
+     * The {@link Http2} transport configuration.
+     */
+    private Http2 http2 = new Http2();
+
+    /**
+     * The dedicated {@link EventLoop} configuration.
+     */
+    private EventLoop eventLoop = new EventLoop();
+
+    /**
+     * The {@link Tls} configuration of the {@code https} gateways.
+     */
+    private Tls tls = new Tls();
+
+    /**
+     * The caching {@link Dns} resolver configuration.
+     */
+    private Dns dns = new Dns();
+
+    /**
+     * The startup {@link Warmup} configuration.
+     */
+    private Warmup warmup = new Warmup();
+
+    /**
+     * The {@link Async} client configuration.
+     */
+    private Async async = new Async();
+
+    /**
+     * The {@link Blocking} client configuration.
+     */
+    private Blocking blocking = new Blocking();
+
+    /**
+     * The HTTP {@link Transport} configuration.
+     */
+    private Transport transport = new Transport();
+
+    /**
+     * The CRaC checkpoint and restore configuration.
+     */
+    private Crac crac = new Crac();
+
+    /**
+     * The request and response {@link Compression} configuration.
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * The {@link WireLog} configuration.
+     */
+    private WireLog wireLog = new WireLog();
+
+    /**
+     * The read and response {@link Timeouts}.
+     */
+    private Timeouts timeouts = new Timeouts();
+
+    /**
+     * The priority {@link Scheduler} configuration.
+     */
+    private Scheduler scheduler = new Scheduler();
+
+    /**
+     * The client-side rate limit configuration. Quotas are enforced before a request is signed.
+     */
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Whether rate limiting is enabled.
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum time to wait for a permit. A zero duration fails the request immediately when no permit is
+         * available.
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        /**
+         * The {@link Quota} shared by all endpoints and partners.
+         */
+        private Quota global;
+
+        /**
+         * The {@link Quota} per {@link Endpoint}.
+         */
+        private Map<Endpoint, Quota> endpoints = new HashMap<>();
+
+        /**
+         * The {@link Quota} per partner ID.
+         */
+        private Map<String, Quota> partners = new HashMap<>();
+    }
+
+    /**
+     * The token bucket quota.
+     */
+    @Data
+    public static class Quota {
+
+        /**
+         * The sustained number of permits per second.
+         */
+        private double permitsPerSecond;
+
+        /**
+         * The number of permits that can be acquired at once after an idle period.
+         */
+        private int burst = 1;
+    }
+
+    /**
+     * The bulkhead configuration of an {@link EndpointGroup}. Each group has its own connection pool and in-flight
+     * limit.
+     */
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * The TCP connect timeout of the pooled connections.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(3);
+
+        /**
+         * The maximum number of pooled connections.
+         */
+        private int maxConnections = 50;
+
+        /**
+         * The maximum number of requests waiting for a pooled connection.
+         */
+        private int pendingAcquireMaxCount = 100;
+
+        /**
+         * The maximum time to wait for a pooled connection.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * The maximum time a pooled connection may stay idle.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * The maximum number of requests in flight. Requests beyond this limit fail immediately. A non-positive
+         * value disables the limit.
+         */
+        private int maxInFlight = 150;
+    }
+
+    /**
+     * The priority scheduler configuration.
+     */
+    @Data
+    public static class Scheduler {
+
+        /**
+         * Whether requests are scheduled by priority. When disabled, requests are sent in arrival order.
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum number of requests sent concurrently.
+         */
+        private int maxConcurrency = 100;
+
+        /**
+         * The maximum number of requests waiting across all priorities. Requests beyond this limit fail immediately.
+         */
+        private int maxQueueSize = 1000;
+
+        /**
+         * The time after which a waiting request is promoted by one priority. A zero duration disables promotion.
+         */
+        private Duration agingInterval = Duration.ofMillis(500);
+    }
+
+    /**
+     * The read and response timeouts. The endpoint timeouts override the defaults.
+     */
+    @Data
+    public static class Timeouts {
+
+        /**
+         * The maximum time without reading any data once the request has been sent.
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /**
+         * The maximum time to receive the response after the request has been sent.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(15);
+
+        /**
+         * The {@link EndpointTimeouts} per {@link Endpoint}.
+         */
+        private Map<Endpoint, EndpointTimeouts> endpoints = new HashMap<>();
+    }
+
+    /**
+     * The timeouts of an {@link Endpoint}. Unset values fall back to the {@link Timeouts} defaults.
+     */
+    @Data
+    public static class EndpointTimeouts {
+
+        /**
+         * The maximum time without reading any data once the request has been sent.
+         */
+        private Duration readTimeout;
+
+        /**
+         * The maximum time to receive the response after the request has been sent.
+         */
+        private Duration responseTimeout;
+    }
+
+    /**
+     * The multi-gateway routing configuration.
+     */
+    @Data
+    public static class Routing {
+
+        /**
+         * The payment gateway base URLs, e.g. regional or disaster recovery hosts, in order of preference. When empty,
+         * {@code gcash.paymentGatewayUrl} is the only gateway.
+         */
+        private List<String> gatewayUrls = new ArrayList<>();
+
+        /**
+         * The time constant of the exponentially weighted latency.
+         */
+        private Duration decayTime = Duration.ofSeconds(10);
+
+        /**
+         * The latency assumed before the first response and after an ejection.
+         */
+        private Duration initialLatency = Duration.ofMillis(100);
+
+        /**
+         * The number of consecutive failures after which a gateway is ejected. A non-positive value disables
+         * ejection.
+         */
+        private int ejectionThreshold = 5;
+
+        /**
+         * The time an ejected gateway receives no traffic.
+         */
+        private Duration ejectionDuration = Duration.ofSeconds(30);
+
+        /**
+         * The time over which a readmitted gateway ramps up to its full share of traffic.
+         */
+        private Duration slowStartDuration = Duration.ofSeconds(30);
+    }
+
+    /**
+     * The HTTP/2 transport configuration. HTTP/2 is negotiated through ALPN with HTTPS gateways only, and falls back
+     * to HTTP/1.1 when the gateway does not support it.
+     */
+    @Data
+    public static class Http2 {
+
+        /**
+         * Whether HTTP/2 is enabled.
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum number of concurrent streams per connection. The gateway may advertise a lower limit.
+         */
+        private long maxConcurrentStreams = 100;
+    }
+
+    /**
+     * The event loop configuration. When enabled, the gateway I/O runs on its own event loops instead of the Reactor
+     * Netty event loops shared with the WebFlux server.
+     */
+    @Data
+    public static class EventLoop {
+
+        /**
+         * Whether the dedicated event loops are enabled.
+         */
+        private boolean enabled;
+
+        /**
+         * The number of event loop threads. Zero uses the number of available processors, with a minimum of 4.
+         */
+        private int threads;
+
+        /**
+         * Whether to prefer the native io_uring, epoll or kqueue transport when it is on the classpath. Otherwise, NIO
+         * is used.
+         */
+        private boolean preferNative = true;
+    }
+
+    /**
+     * The TLS configuration. One SSL context is shared by every gateway connection so that sessions can be resumed
+     * after a connection is evicted from the pool.
+     */
+    @Data
+    public static class Tls {
+
+        /**
+         * The {@link TlsProvider} of the {@code REACTOR_NETTY} transport. OpenSSL requires netty-tcnative on the
+         * classpath, otherwise the JDK provider is used.
+         */
+        private TlsProvider provider = TlsProvider.JDK;
+
+        /**
+         * The enabled protocols.
+         */
+        private List<String> protocols = new ArrayList<>(List.of("TLSv1.3", "TLSv1.2"));
+
+        /**
+         * The enabled cipher suites, in order of preference.
+         */
+        private List<String> ciphers = new ArrayList<>(List.of(
+                "TLS_AES_128_GCM_SHA256",
+                "TLS_AES_256_GCM_SHA384",
+                "TLS_CHACHA20_POLY1305_SHA256",
+                "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256",
+                "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256",
+                "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384",
+                "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384",
+                "TLS_ECDHE_ECDSA_WITH_CHACHA20_POLY1305_SHA256",
+                "TLS_ECDHE_RSA_WITH_CHACHA20_POLY1305_SHA256"));
+
+        /**
+         * The maximum number of cached sessions. Zero uses the provider default.
+         */
+        private long sessionCacheSize;
+
+        /**
+         * The lifetime of the cached sessions. Zero uses the provider default.
+         */
+        private Duration sessionTimeout = Duration.ZERO;
+    }
+
+    /**
+     * The DNS configuration. When enabled, the gateway hosts are resolved by a non-blocking resolver that caches the
+     * records within the configured TTL bounds instead of the JDK resolver.
+     */
+    @Data
+    public static class Dns {
+
+        /**
+         * Whether the caching resolver is enabled.
+         */
+        private boolean enabled;
+
+        /**
+         * The minimum time to cache a record, regardless of its TTL.
+         */
+        private Duration minTtl = Duration.ZERO;
+
+        /**
+         * The maximum time to cache a record, regardless of its TTL.
+         */
+        private Duration maxTtl = Duration.ofMinutes(5);
+
+        /**
+         * The time to cache a failed resolution.
+         */
+        private Duration negativeTtl = Duration.ZERO;
+    }
+
+    /**
+     * The warm-up configuration. When enabled, the application is not ready to receive traffic until the warm-up
+     * completes or times out.
+     */
+    @Data
+    public static class Warmup {
+
+        /**
+         * Whether the warm-up is enabled.
+         */
+        private boolean enabled;
+
+        /**
+         * The number of connections to open to every gateway per {@link EndpointGroup}.
+         */
+        private int minConnections = 1;
+
+        /**
+         * The path of the {@code HEAD} request that opens the connections, e.g. a health check of the gateway. If it is
+         * not set, no request is sent: the {@code REACTOR_NETTY} transport only initializes its event loops, DNS
+         * resolver and TLS context, and the {@code JDK} transport opens no connection.
+         */
+        private String probePath;
+
+        /**
+         * Whether to run the signing, verification and JSON code paths so that they are compiled by the JIT.
+         */
+        private boolean jit = true;
+
+        /**
+         * The number of times the code paths are run.
+         */
+        private int iterations = 200;
+
+        /**
+         * The maximum duration of the warm-up.
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * The configuration of the {@code CompletableFuture} client for callers outside Reactor.
+     */
+    @Data
+    public static class Async {
+
+        /**
+         * The maximum number of futures not yet completed. Requests beyond this limit fail immediately. A
+         * non-positive value disables the limit.
+         */
+        private int maxInFlight = 500;
+    }
+
+    /**
+     * The configuration of the blocking client on {@code java.net.http.HttpClient}.
+     */
+    @Data
+    public static class Blocking {
+
+        /**
+         * Whether the {@code GCashClient} bean is created.
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum number of requests sent concurrently. Further callers wait for a permit.
+         */
+        private int maxConcurrency = 100;
+
+        /**
+         * The maximum time a caller waits for a permit before failing.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * The connect timeout.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(3);
+    }
+
+    /**
+     * The HTTP transport configuration of {@code GCashV1Client}.
+     */
+    @Data
+    public static class Transport {
+
+        /**
+         * The {@link TransportType}. {@code JDK} trades the connection pool limits, the dedicated event loops, DNS
+         * caching and read timeouts for a smaller footprint.
+         */
+        private TransportType type = TransportType.REACTOR_NETTY;
+
+        /**
+         * The connect timeout of the {@code JDK} transport. The {@code REACTOR_NETTY} transport uses the connect
+         * timeout of each bulkhead.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(3);
+    }
+
+    /**
+     * The Coordinated Restore at Checkpoint (CRaC) configuration. It only applies when {@code org.crac:crac} is on the
+     * classpath, and does nothing on a JVM without CRaC support.
+     */
+    @Data
+    public static class Crac {
+
+        /**
+         * Whether to close the connections before a checkpoint and open them again after a restore.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The maximum time to wait for the requests in flight to complete before a checkpoint.
+         */
+        private Duration drainTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * The compression configuration. Responses are decompressed before their signature is verified, so the signature
+     * is always verified over the decoded payload.
+     */
+    @Data
+    public static class Compression {
+
+        /**
+         * Whether to accept gzip and deflate encoded responses.
+         */
+        private boolean response;
+
+        /**
+         * Whether to gzip the request payloads. Only enable this if the gateway accepts gzip encoded requests.
+         */
+        private boolean request;
+
+        /**
+         * The minimum length of a request payload to compress.
+         */
+        private int requestMinSize = 1024;
+    }
+
+    /**
+     * The wire logging configuration of the exchanges with the payment gateway.
+     */
+    @Data
+    public static class WireLog {
+
+        /**
+         * The {@link WireLogMode}. Defaults to {@link WireLogMode#ALL} when the active profile is {@code local},
+         * {@code dev} or {@code test}, and {@link WireLogMode#OFF} otherwise.
+         */
+        private WireLogMode mode;
+
+        /**
+         * The fraction of the exchanges logged in {@link WireLogMode#SAMPLED} mode.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * The maximum number of exchanges waiting to be logged. Further exchanges are dropped.
+         */
+        private int bufferSize = 1024;
+
+        /**
+         * The response headers whose values are redacted.
+         */
+        private List<String> redactedHeaders = new ArrayList<>(List.of("Signature"));
+
+        /**
+         * The JSON fields whose values are redacted, including in embedded JSON strings.
+         */
+        private List<String> redactedFields = new ArrayList<>(List.of("accessToken", "refreshToken", "authCode",
+                "paymentAuthCode", "customerId", "userId", "loginId", "hashLoginId", "fullName", "firstName",
+                "middleName", "lastName", "nickname", "avatar", "birthday", "contactNo", "buyerPhoneNo",
+                "shippingPhoneNo", "storePhoneNo", "address1", "address2", "zipCode"));
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return GCashProperties.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        GCashProperties properties = (GCashProperties) target;
+        if (StringUtils.isBlank(properties.getClientId())) {
+            errors.rejectValue("clientId", "required", "gcash.clientId is required");
+        }
+
+        if (StringUtils.isBlank(properties.getPaymentGatewayUrl())
+                && properties.getRouting().getGatewayUrls().isEmpty()) {
+            errors.rejectValue("paymentGatewayUrl", "required",
+                    "gcash.paymentGatewayUrl or gcash.routing.gatewayUrls is required");
+        }
+
+        try {
+            Signatures.parsePrivateKey(properties.getSigning().getPrivateKey());
+        } catch (GeneralSecurityException | RuntimeException e) {
+            errors.rejectValue("signing.privateKey", "invalid",
+                    "gcash.signing.privateKey is not a PKCS#8 PEM-encoded RSA private key");
+        }
+
+        try {
+            Signatures.parsePublicKey(properties.getSigning().getPublicKey());
+        } catch (GeneralSecurityException | RuntimeException e) {
+            errors.rejectValue("signing.publicKey", "invalid",
+                    "gcash.signing.publicKey is not an X.509 PEM-encoded RSA public key");
+        }
+
+        Warmup warmup = properties.getWarmup();
+        if (warmup.getMinConnections() < 0) {
+            errors.rejectValue("warmup.minConnections", "invalid", "gcash.warmup.minConnections must not be negative");
+        } else if (warmup.isEnabled() && warmup.getMinConnections() > 0 && StringUtils.isBlank(warmup.getProbePath())) {
+            log.warn("gcash.warmup.minConnections is {} but no connection is opened without gcash.warmup.probePath",
+                    warmup.getMinConnections());
+        }
+    }
+
+    /**
+     * The request signing configuration.
+     */
+    @Data
+    public static class Signing {
+
+        /**
+         * The PEM-encoded public key of GCash that verifies the response signatures.
+         */
+        private String publicKey;
+
+        /**
+         * The PEM-encoded private key of the client that signs the requests.
+         */
+        private String privateKey;
+
+        /**
+         * The version of the key pair registered with GCash.
+         */
+        private String keyVersion = "0";
+
+        /**
+         * The signature algorithm of the {@code Signature} header.
+         */
+        private String algorithm = "RSA256";
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.crac;
+
+import org.crac.Core;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.vincenzolabs.gcash.client.GCashClient;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashAutoConfiguration;
+import org.vincenzolabs.gcash.config.GCashProperties;
+
+/**
+ * Registers the {@link GCashCracResource} when {@code org.crac:crac} is on the classpath, unless
+ * {@code gcash.crac.enabled} is {@code false}. On a JVM without CRaC support, the resource is never called.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@AutoConfiguration(after = GCashAutoConfiguration.class)
+@ConditionalOnClass(name = "org.crac.Resource")
+@ConditionalOnBean(GCashV1Client.class)
+@ConditionalOnProperty(prefix = "gcash.crac", name = "enabled", matchIfMissing = true)
+public class GCashCracConfiguration {
+
+    /**
+     * Creates the {@link GCashCracResource} of the client and, if enabled, the blocking {@link GCashClient}, and
+     * registers it in the global CRaC context, which only keeps a weak reference to it.
+     *
+     * @param client         the {@link GCashV1Client}
+     * @param blockingClient the {@link ObjectProvider} of the blocking {@link GCashClient}
+     * @param properties     the {@link GCashProperties}
+     * @return the {@link GCashCracResource}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public GCashCracResource gcashCracResource(GCashV1Client client, ObjectProvider<GCashClient> blockingClient,
+                                               GCashProperties properties) {
+        GCashCracResource resource = new GCashCracResource(client, blockingClient.getIfAvailable(),
+                properties.getCrac());
+        Core.getGlobalContext().register(resource);
+
+        return resource;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.crac;
+
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Resource;
+import org.vincenzolabs.gcash.client.GCashClient;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashProperties;
+
+import java.time.Duration;
+
+/**
+ * Suspends the {@link GCashV1Client} and, if enabled, the blocking {@link GCashClient} before a CRaC checkpoint and
+ * resumes them after a restore. A checkpoint fails if a socket is open, and a restored JVM may run on another host and
+ * network, so the connections are closed before the checkpoint and opened again after the restore.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GCashCracResource implements Resource {
+
+    private final GCashV1Client client;
+
+    private final GCashClient blockingClient;
+
+    private final Duration drainTimeout;
+
+    /**
+     * Default constructor.
+     *
+     * @param client the {@link GCashV1Client}
+     * @param crac   the {@link GCashProperties.Crac}
+     */
+    public GCashCracResource(GCashV1Client client, GCashProperties.Crac crac) {
+        this(client, null, crac);
+    }
+
+    /**
+     * Constructor with the blocking client.
+     *
+     * @param client         the {@link GCashV1Client}
+     * @param blockingClient the blocking {@link GCashClient}, or {@code null} if it is not enabled
+     * @param crac           the {@link GCashProperties.Crac}
+     */
+    public GCashCracResource(GCashV1Client client, GCashClient blockingClient, GCashProperties.Crac crac) {
+        this.client = client;
+        this.blockingClient = blockingClient;
+        this.drainTimeout = crac.getDrainTimeout();
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        if (client.suspend(drainTimeout)) {
+            log.info("GCash client suspended for checkpoint in {} ms",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } else {
+            log.warn("GCash client requests in flight did not complete within {}", drainTimeout);
+        }
+
+        if (blockingClient == null) {
+            return;
+        }
+
+        start = System.nanoTime();
+        if (blockingClient.suspend(drainTimeout)) {
+            log.info("GCash blocking client suspended for checkpoint in {} ms",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } else {
+            log.warn("GCash blocking client requests in flight did not complete within {}", drainTimeout);
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        if (blockingClient != null) {
+            blockingClient.resume();
+        }
+        client.resume();
+        log.info("GCash client resumed after restore in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+}
@@ -38,7 +38,7 @@ import java.time.OffsetDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AccessTokenResponse {
+public class AccessTokenResponse implements GCashResponse {
 
     /**
      * The {@link Result} which contains information such as status and error codes.
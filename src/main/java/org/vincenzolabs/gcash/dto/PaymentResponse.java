@@ -38,7 +38,7 @@ import java.time.OffsetDateTime;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-public class PaymentResponse {
+public class PaymentResponse implements GCashResponse {
 
     /**
      * The {@link Result} which contains information such as status and error codes.
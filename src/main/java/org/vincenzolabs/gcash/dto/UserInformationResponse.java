@@ -35,7 +35,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserInformationResponse {
+public class UserInformationResponse implements GCashResponse {
 
     /**
      * The {@link Result} which contains information such as status and error codes.
@@ -38,6 +38,8 @@ public class ApiError {
 
     private String code;
 
+    private String resultCode;
+
     private String reason;
 
     private Throwable cause;
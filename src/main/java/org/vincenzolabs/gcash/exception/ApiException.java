@@ -24,6 +24,7 @@ package org.vincenzolabs.gcash.exception;
 import lombok.Getter;
 import lombok.ToString;
 import org.springframework.http.HttpStatusCode;
+import org.vincenzolabs.gcash.dto.Result;
 
 /**
  * The base API exception.
@@ -56,4 +57,21 @@ public class ApiException extends RuntimeException {
                 .cause(cause)
                 .build();
     }
+
+    /**
+     * Constructor with the {@link Result} of an error response of the payment gateway. The error code is the result
+     * status and the error message is the result message.
+     *
+     * @param status the {@link HttpStatusCode}
+     * @param result the {@link Result}
+     */
+    public ApiException(HttpStatusCode status, Result result) {
+        super(result.getResultMessage());
+        apiError = ApiError.builder()
+                .status(status)
+                .code(result.getResultStatus())
+                .resultCode(result.getResultCode())
+                .reason(result.getResultMessage())
+                .build();
+    }
 }
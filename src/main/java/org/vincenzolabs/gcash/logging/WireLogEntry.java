@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.logging;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A request and response exchanged with the payment gateway, captured for the {@link WireLogger}. It only keeps
+ * references to the request and response, which are formatted once the exchange is logged.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class WireLogEntry {
+
+    final String gatewayUrl;
+
+    final String path;
+
+    final String requestTime;
+
+    final String requestBody;
+
+    final long startNanos = System.nanoTime();
+
+    volatile long latencyNanos;
+
+    volatile int status;
+
+    volatile HttpHeaders responseHeaders;
+
+    volatile String responseBody;
+
+    volatile Throwable error;
+
+    WireLogEntry(String gatewayUrl, String path, String requestTime, String requestBody) {
+        this.gatewayUrl = gatewayUrl;
+        this.path = path;
+        this.requestTime = requestTime;
+        this.requestBody = requestBody;
+    }
+
+    /**
+     * Captures the response status and headers. The read-only response headers are kept as is; they are only read
+     * if the exchange is logged.
+     *
+     * @param status  the HTTP status code
+     * @param headers the response {@link HttpHeaders}
+     */
+    public void onResponse(int status, HttpHeaders headers) {
+        this.status = status;
+        this.responseHeaders = headers;
+    }
+
+    /**
+     * Captures the response body.
+     *
+     * @param body the response body
+     */
+    public void onResponseBody(String body) {
+        this.responseBody = body;
+    }
+}
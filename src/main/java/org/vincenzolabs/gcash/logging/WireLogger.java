@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.vincenzolabs.gcash.config.GCashProperties;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the exchanges with the payment gateway at {@code INFO} level. The exchanges are captured on the I/O threads
+ * without copying or formatting and queued in a bounded buffer. A background thread redacts, formats and logs them.
+ * Exchanges that do not fit in the buffer are dropped and counted. Nothing is captured when {@code INFO} is disabled
+ * for this logger.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class WireLogger {
+
+    private static final String REDACTED = "***";
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .build();
+
+    private final WireLogMode mode;
+
+    private final double sampleRate;
+
+    private final List<String> redactedHeaders;
+
+    private final Set<String> redactedFields;
+
+    private final Pattern redactedFieldPattern;
+
+    private final BlockingQueue<WireLogEntry> buffer;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread writer;
+
+    /**
+     * Default constructor.
+     *
+     * @param wireLog the {@link GCashProperties.WireLog} configuration
+     * @param mode    the effective {@link WireLogMode}
+     */
+    public WireLogger(GCashProperties.WireLog wireLog, WireLogMode mode) {
+        this.mode = mode;
+        this.sampleRate = wireLog.getSampleRate();
+        this.redactedHeaders = wireLog.getRedactedHeaders();
+        this.redactedFields = Set.copyOf(wireLog.getRedactedFields());
+        // the fallback for bodies that are not JSON, matching both "field":"value" and the escaped \"field\":\"value\"
+        this.redactedFieldPattern = Pattern.compile("(\\\\?\")(" + wireLog.getRedactedFields().stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|")) + ")\\1\\s*:\\s*\\1.*?\\1");
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, wireLog.getBufferSize()));
+
+        if (mode == WireLogMode.OFF) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::drain, "gcash-wire-log");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Starts capturing an exchange, if it is to be logged.
+     *
+     * @param gatewayUrl  the gateway base URL
+     * @param path        the endpoint path
+     * @param requestTime the request time
+     * @param requestBody the request body
+     * @return the {@link WireLogEntry}, or {@code null} if the exchange is not logged
+     */
+    public WireLogEntry start(String gatewayUrl, String path, String requestTime, String requestBody) {
+        boolean capture = switch (mode) {
+            case OFF -> false;
+            case ALL, FAILURES -> true;
+            case SAMPLED -> ThreadLocalRandom.current().nextDouble() < sampleRate;
+        };
+
+        return capture && log.isInfoEnabled() ? new WireLogEntry(gatewayUrl, path, requestTime, requestBody) : null;
+    }
+
+    /**
+     * Completes the exchange and queues it for logging.
+     *
+     * @param entry the {@link WireLogEntry}, may be {@code null}
+     * @param error the error, or {@code null} if the exchange succeeded
+     */
+    public void complete(WireLogEntry entry, Throwable error) {
+        if (entry == null || (mode == WireLogMode.FAILURES && error == null)) {
+            return;
+        }
+
+        entry.latencyNanos = System.nanoTime() - entry.startNanos;
+        entry.error = error;
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Returns the effective {@link WireLogMode}.
+     *
+     * @return the {@link WireLogMode}
+     */
+    public WireLogMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of exchanges dropped because the buffer was full.
+     *
+     * @return the number of dropped exchanges
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    public void dispose() {
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    String format(WireLogEntry entry) {
+        StringBuilder builder = new StringBuilder(256)
+                .append("POST ").append(entry.gatewayUrl).append(entry.path)
+                .append(' ').append(entry.status == 0 ? "-" : String.valueOf(entry.status))
+                .append(" in ").append(Duration.ofNanos(entry.latencyNanos).toMillis()).append(" ms");
+        if (entry.error != null) {
+            builder.append(" failed: ").append(entry.error);
+        }
+
+        builder.append("\n> Request-Time: ").append(entry.requestTime)
+                .append("\n> ").append(redact(entry.requestBody));
+
+        HttpHeaders headers = entry.responseHeaders;
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                boolean redacted = redactedHeaders.stream().anyMatch(header.getKey()::equalsIgnoreCase);
+                builder.append("\n< ").append(header.getKey()).append(": ")
+                        .append(redacted ? REDACTED : String.join(", ", header.getValue()));
+            }
+        }
+
+        if (entry.responseBody != null) {
+            builder.append("\n< ").append(redact(entry.responseBody));
+        }
+
+        return builder.toString();
+    }
+
+    String redact(String body) {
+        if (body == null) {
+            return "";
+        }
+
+        if (redactedFields.isEmpty()) {
+            return body;
+        }
+
+        String redacted = redactJson(body);
+        if (redacted != null) {
+            return redacted;
+        }
+
+        // not JSON, e.g. the error page of a proxy
+        return redactedFieldPattern.matcher(body).replaceAll("$1$2$1:$1" + REDACTED + "$1");
+    }
+
+    /**
+     * Redacts the JSON document, including the JSON documents embedded in its string values.
+     *
+     * @param json the JSON document
+     * @return the redacted JSON document, the same instance if nothing is redacted, or {@code null} if it is not a
+     * JSON object or array
+     */
+    private String redactJson(String json) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+
+        if (node == null || !node.isContainerNode()) {
+            return null;
+        }
+
+        if (!redactTree(node)) {
+            return json;
+        }
+
+        try {
+            return OBJECT_MAPPER.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private boolean redactTree(JsonNode node) {
+        boolean redacted = false;
+        if (node.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (redactedFields.contains(field.getKey())) {
+                    field.setValue(TextNode.valueOf(REDACTED));
+                    redacted = true;
+                } else if (field.getValue().isContainerNode()) {
+                    redacted |= redactTree(field.getValue());
+                } else {
+                    TextNode embedded = redactEmbedded(field.getValue());
+                    if (embedded != null) {
+                        field.setValue(embedded);
+                        redacted = true;
+                    }
+                }
+            }
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                if (array.get(i).isContainerNode()) {
+                    redacted |= redactTree(array.get(i));
+                } else {
+                    TextNode embedded = redactEmbedded(array.get(i));
+                    if (embedded != null) {
+                        array.set(i, embedded);
+                        redacted = true;
+                    }
+                }
+            }
+        }
+
+        return redacted;
+    }
+
+    /**
+     * Redacts the JSON document embedded in a string value.
+     *
+     * @param value the {@link JsonNode}
+     * @return the redacted {@link TextNode}, or {@code null} if there is nothing to redact
+     */
+    private TextNode redactEmbedded(JsonNode value) {
+        if (!value.isTextual()) {
+            return null;
+        }
+
+        String text = value.textValue().strip();
+        if (!text.startsWith("{") && !text.startsWith("[")) {
+            return null;
+        }
+
+        String redacted = redactJson(text);
+
+        return redacted == null || redacted.equals(text) ? null : TextNode.valueOf(redacted);
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                WireLogEntry entry = buffer.take();
+                if (log.isInfoEnabled()) {
+                    log.info(format(entry));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Failed to log the exchange", e);
+            }
+        }
+    }
+}
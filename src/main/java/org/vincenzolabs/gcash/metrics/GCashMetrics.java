@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.metrics;
+
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.scheduling.PriorityScheduler;
+import org.vincenzolabs.gcash.transport.Bulkhead;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+import org.vincenzolabs.gcash.transport.GatewayRouter;
+import org.vincenzolabs.gcash.transport.TlsHandshakeStats;
+
+import java.util.Collection;
+
+/**
+ * The metrics of the GCash client. Every method is a no-op by default.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public interface GCashMetrics {
+
+    /**
+     * The {@link GCashMetrics} that records nothing.
+     */
+    GCashMetrics NOOP = new GCashMetrics() {
+    };
+
+    /**
+     * Records an exchange with the payment gateway.
+     *
+     * @param endpoint the {@link Endpoint}
+     * @param nanos    the duration in nanoseconds
+     * @param error    the error, or {@code null} if the exchange succeeded
+     */
+    default void recordRequest(Endpoint endpoint, long nanos, Throwable error) {
+    }
+
+    /**
+     * Records a response of the payment gateway.
+     *
+     * @param endpoint   the {@link Endpoint}
+     * @param httpStatus the HTTP status code
+     * @param result     the {@link Result}, may be {@code null}
+     */
+    default void recordResponse(Endpoint endpoint, int httpStatus, Result result) {
+    }
+
+    /**
+     * Records the network {@link ExchangePhase}s of an exchange with the payment gateway.
+     *
+     * @param trace the {@link ExchangeTrace}
+     */
+    default void recordPhases(ExchangeTrace trace) {
+    }
+
+    /**
+     * Records the signing of a request.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    default void recordSign(long nanos) {
+    }
+
+    /**
+     * Records the verification of a response.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    default void recordVerify(long nanos) {
+    }
+
+    /**
+     * Records the serialization of a request.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    default void recordSerialize(long nanos) {
+    }
+
+    /**
+     * Records the deserialization of a response.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    default void recordDeserialize(long nanos) {
+    }
+
+    /**
+     * Binds the gauges of the requests in flight and of the connection pools.
+     *
+     * @param bulkheads the {@link Bulkhead}s
+     * @param scheduler the {@link PriorityScheduler}
+     */
+    default void bind(Collection<Bulkhead> bulkheads, PriorityScheduler scheduler) {
+    }
+
+    /**
+     * Binds the counters and the timer of the TLS handshakes with the payment gateway.
+     *
+     * @param tlsHandshakeStats the {@link TlsHandshakeStats}
+     */
+    default void bind(TlsHandshakeStats tlsHandshakeStats) {
+    }
+
+    /**
+     * Binds the routing statistics of every payment gateway.
+     *
+     * @param gatewayRouter the {@link GatewayRouter}
+     */
+    default void bind(GatewayRouter gatewayRouter) {
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.scheduling.PriorityScheduler;
+import org.vincenzolabs.gcash.transport.Bulkhead;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+import org.vincenzolabs.gcash.transport.Gateway;
+import org.vincenzolabs.gcash.transport.GatewayRouter;
+import org.vincenzolabs.gcash.transport.TlsHandshakeStats;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * The Micrometer {@link GCashMetrics}. The request and phase timers are created upfront and the response counters are
+ * cached so that recording an exchange does not look up the registry.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class MicrometerGCashMetrics implements GCashMetrics {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Set<ExchangePhase> NETWORK_PHASES = EnumSet.range(ExchangePhase.CONNECTION_ACQUIRE,
+            ExchangePhase.BODY_READ);
+
+    private final MeterRegistry registry;
+
+    private final Map<Endpoint, Timer> successTimers = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Timer> errorTimers = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Map<ExchangePhase, Timer>> phaseTimers = new EnumMap<>(Endpoint.class);
+
+    private final Map<ResponseKey, Counter> responseCounters = new ConcurrentHashMap<>();
+
+    private final Timer signTimer;
+
+    private final Timer verifyTimer;
+
+    private final Timer serializeTimer;
+
+    private final Timer deserializeTimer;
+
+    /**
+     * Default constructor.
+     *
+     * @param registry the {@link MeterRegistry}
+     */
+    public MicrometerGCashMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            successTimers.put(endpoint, requestTimer(endpoint, "SUCCESS"));
+            errorTimers.put(endpoint, requestTimer(endpoint, "ERROR"));
+
+            Map<ExchangePhase, Timer> timers = new EnumMap<>(ExchangePhase.class);
+            for (ExchangePhase phase : NETWORK_PHASES) {
+                timers.put(phase, Timer.builder("gcash.client.phases")
+                        .description("The network phases of the exchanges with the payment gateway")
+                        .tag("endpoint", endpoint.name())
+                        .tag("phase", phase.name())
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+            phaseTimers.put(endpoint, timers);
+        }
+
+        this.signTimer = operationTimer("gcash.client.sign", "The time to sign a request");
+        this.verifyTimer = operationTimer("gcash.client.verify", "The time to verify a response signature");
+        this.serializeTimer = operationTimer("gcash.client.serialize", "The time to serialize a request");
+        this.deserializeTimer = operationTimer("gcash.client.deserialize", "The time to deserialize a response");
+    }
+
+    @Override
+    public void recordRequest(Endpoint endpoint, long nanos, Throwable error) {
+        (error == null ? successTimers : errorTimers).get(endpoint).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordResponse(Endpoint endpoint, int httpStatus, Result result) {
+        ResponseKey key = new ResponseKey(endpoint, httpStatus,
+                result == null || result.getResultStatus() == null ? UNKNOWN : result.getResultStatus(),
+                result == null || result.getResultCode() == null ? UNKNOWN : result.getResultCode());
+
+        responseCounters.computeIfAbsent(key, this::responseCounter).increment();
+    }
+
+    private Counter responseCounter(ResponseKey key) {
+        return Counter.builder("gcash.client.responses")
+                .description("The responses of the payment gateway")
+                .tag("endpoint", key.endpoint().name())
+                .tag("status", String.valueOf(key.httpStatus()))
+                .tag("resultStatus", key.resultStatus())
+                .tag("resultCode", key.resultCode())
+                .register(registry);
+    }
+
+    @Override
+    public void recordPhases(ExchangeTrace trace) {
+        Map<ExchangePhase, Timer> timers = phaseTimers.get(trace.getEndpoint());
+        for (ExchangePhase phase : NETWORK_PHASES) {
+            if (trace.isCompleted(phase)) {
+                timers.get(phase).record(trace.getNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void recordSign(long nanos) {
+        signTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordVerify(long nanos) {
+        verifyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordSerialize(long nanos) {
+        serializeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDeserialize(long nanos) {
+        deserializeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bind(Collection<Bulkhead> bulkheads, PriorityScheduler scheduler) {
+        for (Bulkhead bulkhead : bulkheads) {
+            String group = bulkhead.getGroup().name();
+            Gauge.builder("gcash.client.inflight", bulkhead, Bulkhead::getInFlight)
+                    .description("The requests in flight")
+                    .tag("group", group)
+                    .register(registry);
+            Gauge.builder("gcash.client.connections.active", bulkhead, Bulkhead::getActiveConnections)
+                    .description("The pooled connections in use")
+                    .tag("group", group)
+                    .register(registry);
+            Gauge.builder("gcash.client.connections.idle", bulkhead, Bulkhead::getIdleConnections)
+                    .description("The idle pooled connections")
+                    .tag("group", group)
+                    .register(registry);
+            Gauge.builder("gcash.client.connections.pending", bulkhead, Bulkhead::getPendingAcquires)
+                    .description("The requests waiting for a pooled connection")
+                    .tag("group", group)
+                    .register(registry);
+        }
+
+        Gauge.builder("gcash.client.queued", scheduler, PriorityScheduler::getQueued)
+                .description("The requests waiting in the priority queue")
+                .register(registry);
+    }
+
+    @Override
+    public void bind(TlsHandshakeStats tlsHandshakeStats) {
+        tlsHandshakeCounter(tlsHandshakeStats, "FULL",
+                stats -> stats.getHandshakes() - stats.getResumptions() - stats.getFailures());
+        tlsHandshakeCounter(tlsHandshakeStats, "RESUMED", TlsHandshakeStats::getResumptions);
+        tlsHandshakeCounter(tlsHandshakeStats, "FAILED", TlsHandshakeStats::getFailures);
+
+        FunctionTimer.builder("gcash.client.tls.handshake.time", tlsHandshakeStats,
+                        TlsHandshakeStats::getHandshakes, stats -> stats.getTotalTime().toNanos(), TimeUnit.NANOSECONDS)
+                .description("The time of the TLS handshakes with the payment gateway")
+                .register(registry);
+    }
+
+    @Override
+    public void bind(GatewayRouter gatewayRouter) {
+        for (Gateway gateway : gatewayRouter.getGateways()) {
+            String url = gateway.getUrl();
+            Gauge.builder("gcash.client.gateway.latency", gateway, g -> g.getLatencyNanos() / NANOS_PER_SECOND)
+                    .description("The exponentially weighted latency of the payment gateway")
+                    .tag("gateway", url)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("gcash.client.gateway.inflight", gateway, Gateway::getInFlight)
+                    .description("The requests in flight to the payment gateway")
+                    .tag("gateway", url)
+                    .register(registry);
+            Gauge.builder("gcash.client.gateway.ejected", gateway, g -> g.isEjected() ? 1 : 0)
+                    .description("Whether the payment gateway is ejected")
+                    .tag("gateway", url)
+                    .register(registry);
+            FunctionCounter.builder("gcash.client.gateway.requests", gateway, Gateway::getRequests)
+                    .description("The requests sent to the payment gateway")
+                    .tag("gateway", url)
+                    .register(registry);
+            FunctionCounter.builder("gcash.client.gateway.failures", gateway, Gateway::getFailures)
+                    .description("The failed requests to the payment gateway")
+                    .tag("gateway", url)
+                    .register(registry);
+            FunctionCounter.builder("gcash.client.gateway.ejections", gateway, Gateway::getEjections)
+                    .description("The ejections of the payment gateway")
+                    .tag("gateway", url)
+                    .register(registry);
+        }
+    }
+
+    private void tlsHandshakeCounter(TlsHandshakeStats tlsHandshakeStats, String outcome,
+                                     ToLongFunction<TlsHandshakeStats> count) {
+        FunctionCounter.builder("gcash.client.tls.handshakes", tlsHandshakeStats,
+                        stats -> count.applyAsLong(stats))
+                .description("The TLS handshakes with the payment gateway")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Timer requestTimer(Endpoint endpoint, String outcome) {
+        return Timer.builder("gcash.client.requests")
+                .description("The exchanges with the payment gateway")
+                .tag("endpoint", endpoint.name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer operationTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * The tags of a response counter.
+     */
+    private record ResponseKey(Endpoint endpoint, int httpStatus, String resultStatus, String resultCode) {
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.ratelimit;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The client-side rate limiter enforcing the global, per-{@link Endpoint} and per-partner quotas before a request is
+ * signed and sent.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class GCashRateLimiter {
+
+    private final boolean enabled;
+
+    @Getter
+    private final Duration maxWait;
+
+    private final TokenBucket globalBucket;
+
+    private final Map<Endpoint, TokenBucket> endpointBuckets = new EnumMap<>(Endpoint.class);
+
+    private final Map<String, TokenBucket> partnerBuckets = new HashMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param rateLimit the {@link GCashProperties.RateLimit}
+     */
+    public GCashRateLimiter(GCashProperties.RateLimit rateLimit) {
+        this.enabled = rateLimit.isEnabled();
+        this.maxWait = rateLimit.getMaxWait() == null ? Duration.ZERO : rateLimit.getMaxWait();
+        this.globalBucket = toTokenBucket(rateLimit.getGlobal());
+        rateLimit.getEndpoints().forEach((endpoint, quota) -> {
+            TokenBucket tokenBucket = toTokenBucket(quota);
+            if (tokenBucket != null) {
+                endpointBuckets.put(endpoint, tokenBucket);
+            }
+        });
+        rateLimit.getPartners().forEach((partnerId, quota) -> {
+            TokenBucket tokenBucket = toTokenBucket(quota);
+            if (tokenBucket != null) {
+                partnerBuckets.put(partnerId, tokenBucket);
+            }
+        });
+    }
+
+    /**
+     * Acquires a permit waiting at most the configured maximum wait.
+     *
+     * @param endpoint  the {@link Endpoint}
+     * @param partnerId the partner ID, may be {@code null}
+     * @return the {@link Mono} completing when the permit may be used
+     */
+    public Mono<Void> acquire(Endpoint endpoint, String partnerId) {
+        return acquire(endpoint, partnerId, maxWait);
+    }
+
+    /**
+     * Acquires a permit from every applicable bucket. The returned {@link Mono} fails immediately with
+     * {@link HttpStatus#TOO_MANY_REQUESTS} if any bucket cannot grant a permit within {@code maxWait}. The permits are
+     * returned if the {@link Mono} is cancelled while waiting.
+     *
+     * @param endpoint  the {@link Endpoint}
+     * @param partnerId the partner ID, may be {@code null}
+     * @param maxWait   the maximum time to wait for a permit
+     * @return the {@link Mono} completing when the permit may be used
+     */
+    public Mono<Void> acquire(Endpoint endpoint, String partnerId, Duration maxWait) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> {
+            TokenBucket endpointBucket = endpointBuckets.get(endpoint);
+            TokenBucket partnerBucket = partnerId == null ? null : partnerBuckets.get(partnerId);
+
+            long now = System.nanoTime();
+            long maxWaitNanos = Math.max(0L, maxWait.toNanos());
+
+            long globalWait = reserve(globalBucket, now, maxWaitNanos);
+            if (globalWait < 0) {
+                return rejected(endpoint);
+            }
+
+            long endpointWait = reserve(endpointBucket, now, maxWaitNanos);
+            if (endpointWait < 0) {
+                cancel(globalBucket);
+                return rejected(endpoint);
+            }
+
+            long partnerWait = reserve(partnerBucket, now, maxWaitNanos);
+            if (partnerWait < 0) {
+                cancel(globalBucket);
+                cancel(endpointBucket);
+                return rejected(endpoint);
+            }
+
+            long wait = Math.max(globalWait, Math.max(endpointWait, partnerWait));
+            if (wait == 0) {
+                return Mono.empty();
+            }
+
+            // the permits reserved for a caller that stops waiting are returned
+            return Mono.delay(Duration.ofNanos(wait))
+                    .then()
+                    .doOnCancel(() -> {
+                        cancel(globalBucket);
+                        cancel(endpointBucket);
+                        cancel(partnerBucket);
+                    });
+        });
+    }
+
+    private static long reserve(TokenBucket tokenBucket, long now, long maxWaitNanos) {
+        return tokenBucket == null ? 0L : tokenBucket.reserve(now, maxWaitNanos);
+    }
+
+    private static void cancel(TokenBucket tokenBucket) {
+        if (tokenBucket != null) {
+            tokenBucket.cancel();
+        }
+    }
+
+    private static Mono<Void> rejected(Endpoint endpoint) {
+        return Mono.error(new ApiException(HttpStatus.TOO_MANY_REQUESTS, "",
+                "Client-side rate limit exceeded for " + endpoint.getPath(), null));
+    }
+
+    private static TokenBucket toTokenBucket(GCashProperties.Quota quota) {
+        if (quota == null || quota.getPermitsPerSecond() <= 0) {
+            return null;
+        }
+
+        return new TokenBucket(quota.getPermitsPerSecond(), quota.getBurst());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket implemented as a generic cell rate algorithm. The only state is the theoretical arrival
+ * time of the next permit, which is advanced with a compare-and-set.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Default constructor.
+     *
+     * @param permitsPerSecond the sustained number of permits per second
+     * @param burst            the number of permits that can be acquired at once after an idle period
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Reserves a permit.
+     *
+     * @param now          the current {@link System#nanoTime()}
+     * @param maxWaitNanos the maximum time in nanoseconds the caller is willing to wait
+     * @return the time in nanoseconds to wait before the permit may be used, or {@code -1} if the permit cannot be
+     * granted within {@code maxWaitNanos}, in which case nothing is reserved
+     */
+    public long reserve(long now, long maxWaitNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - burstNanos - now;
+
+            if (wait > maxWaitNanos) {
+                return -1L;
+            }
+
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return Math.max(0L, wait);
+            }
+        }
+    }
+
+    /**
+     * Acquires a permit without waiting.
+     *
+     * @return {@code true} if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        return reserve(System.nanoTime(), 0L) == 0L;
+    }
+
+    /**
+     * Returns a permit obtained from {@link #reserve(long, long)} that will not be used.
+     */
+    public void cancel() {
+        theoreticalArrivalTime.addAndGet(-intervalNanos);
+    }
+}
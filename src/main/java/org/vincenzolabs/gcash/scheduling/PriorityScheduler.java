@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.scheduling;
+
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The priority-aware scheduler in front of the HTTP exchange. At most {@code maxConcurrency} requests run at once;
+ * the rest wait in a bounded queue per {@link RequestPriority}. A waiting request is promoted by one priority every
+ * {@code agingInterval} so that low priority work is never starved.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class PriorityScheduler {
+
+    private static final int WAITING = 0;
+
+    private static final int STARTED = 1;
+
+    private static final int CANCELLED = 2;
+
+    private final boolean enabled;
+
+    private final int maxConcurrency;
+
+    private final int maxQueueSize;
+
+    private final long agingIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ArrayDeque<Ticket<?>>[] queues;
+
+    private final Map<RequestPriority, QueueWaitHistogram> histograms = new EnumMap<>(RequestPriority.class);
+
+    private int running;
+
+    private int queued;
+
+    /**
+     * Default constructor.
+     *
+     * @param scheduler the {@link GCashProperties.Scheduler}
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityScheduler(GCashProperties.Scheduler scheduler) {
+        this.enabled = scheduler.isEnabled();
+        this.maxConcurrency = Math.max(1, scheduler.getMaxConcurrency());
+        this.maxQueueSize = Math.max(0, scheduler.getMaxQueueSize());
+        this.agingIntervalNanos = scheduler.getAgingInterval() == null ? 0L : scheduler.getAgingInterval().toNanos();
+
+        RequestPriority[] priorities = RequestPriority.values();
+        this.queues = new ArrayDeque[priorities.length];
+        for (RequestPriority priority : priorities) {
+            queues[priority.ordinal()] = new ArrayDeque<>();
+            histograms.put(priority, new QueueWaitHistogram());
+        }
+    }
+
+    /**
+     * Schedules the request. The {@link RequestPriority} in the subscriber {@link reactor.util.context.Context}, if
+     * any, overrides the given default. The returned {@link Mono} fails immediately with
+     * {@link HttpStatus#SERVICE_UNAVAILABLE} when the queue is full.
+     *
+     * @param priority the default {@link RequestPriority}
+     * @param request  the request {@link Mono}
+     * @param <T>      the response type
+     * @return the {@link Mono} containing the response
+     */
+    public <T> Mono<T> schedule(RequestPriority priority, Mono<T> request) {
+        if (!enabled) {
+            return request;
+        }
+
+        return Mono.deferContextual(contextView -> {
+            RequestPriority effectivePriority = contextView.getOrDefault(RequestPriority.class, priority);
+
+            return Mono.<T>create(sink -> {
+                Ticket<T> ticket = new Ticket<>(effectivePriority, request, sink);
+                sink.onCancel(ticket::cancel);
+                submit(ticket);
+            });
+        });
+    }
+
+    /**
+     * Returns the queue wait {@link QueueWaitHistogram} per {@link RequestPriority}.
+     *
+     * @return the unmodifiable {@link Map} of {@link QueueWaitHistogram}
+     */
+    public Map<RequestPriority, QueueWaitHistogram> getQueueWaitHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Returns the number of queued requests.
+     *
+     * @return the number of queued requests
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void submit(Ticket<?> ticket) {
+        boolean start = false;
+        boolean rejected = false;
+
+        lock.lock();
+        try {
+            if (running < maxConcurrency && queued == 0) {
+                running++;
+                start = true;
+            } else if (queued >= maxQueueSize) {
+                rejected = true;
+            } else {
+                queues[ticket.priority.ordinal()].addLast(ticket);
+                queued++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (start) {
+            ticket.start();
+        } else if (rejected) {
+            ticket.sink.error(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                    "Request queue is full", null));
+        }
+    }
+
+    private void release() {
+        Ticket<?> next;
+
+        lock.lock();
+        try {
+            running--;
+            next = poll();
+            if (next != null) {
+                running++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (next != null) {
+            next.start();
+        }
+    }
+
+    private void remove(Ticket<?> ticket) {
+        lock.lock();
+        try {
+            if (queues[ticket.priority.ordinal()].remove(ticket)) {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Ticket<?> poll() {
+        long now = System.nanoTime();
+        int selected = -1;
+        long selectedRank = Long.MAX_VALUE;
+        long selectedEnqueuedAt = Long.MAX_VALUE;
+
+        for (int i = 0; i < queues.length; i++) {
+            Ticket<?> head = queues[i].peekFirst();
+            if (head == null) {
+                continue;
+            }
+
+            long promotions = agingIntervalNanos > 0 ? (now - head.enqueuedAt) / agingIntervalNanos : 0L;
+            long rank = Math.max(0L, i - promotions);
+            if (rank < selectedRank || (rank == selectedRank && head.enqueuedAt - selectedEnqueuedAt < 0)) {
+                selected = i;
+                selectedRank = rank;
+                selectedEnqueuedAt = head.enqueuedAt;
+            }
+        }
+
+        if (selected < 0) {
+            return null;
+        }
+
+        queued--;
+        return queues[selected].pollFirst();
+    }
+
+    private final class Ticket<T> {
+
+        private final RequestPriority priority;
+
+        private final Mono<T> request;
+
+        private final MonoSink<T> sink;
+
+        private final long enqueuedAt = System.nanoTime();
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private volatile Disposable subscription;
+
+        private Ticket(RequestPriority priority, Mono<T> request, MonoSink<T> sink) {
+            this.priority = priority;
+            this.request = request;
+            this.sink = sink;
+        }
+
+        private void start() {
+            if (!state.compareAndSet(WAITING, STARTED)) {
+                release();
+                return;
+            }
+
+            histograms.get(priority).record(System.nanoTime() - enqueuedAt);
+            Disposable disposable = request
+                    .contextWrite(sink.contextView())
+                    .doFinally(signalType -> release())
+                    .subscribe(sink::success, sink::error, sink::success);
+            subscription = disposable;
+
+            // a cancel while subscribing did not see the subscription yet
+            if (state.get() == CANCELLED) {
+                disposable.dispose();
+            }
+        }
+
+        private void cancel() {
+            if (state.getAndSet(CANCELLED) == WAITING) {
+                remove(this);
+                return;
+            }
+
+            Disposable disposable = subscription;
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.scheduling;
+
+import reactor.util.context.Context;
+
+/**
+ * The enumeration of request priorities, from highest to lowest.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public enum RequestPriority {
+
+    /**
+     * Interactive checkout, i.e. payment creation and access token application.
+     */
+    CRITICAL,
+    /**
+     * Refund creation.
+     */
+    HIGH,
+    /**
+     * Inquiries.
+     */
+    NORMAL,
+    /**
+     * Batch and reconciliation work.
+     */
+    LOW;
+
+    /**
+     * Returns the Reactor {@link Context} overriding the default priority of an endpoint, e.g.
+     * {@code client.retrievePayment(request).contextWrite(RequestPriority.LOW.toContext())}.
+     *
+     * @return the {@link Context}
+     */
+    public Context toContext() {
+        return Context.of(RequestPriority.class, this);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.tracing;
+
+import org.vincenzolabs.gcash.client.Endpoint;
+import reactor.util.context.ContextView;
+
+/**
+ * The tracing of the exchanges with the payment gateway.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@FunctionalInterface
+public interface GCashTracing {
+
+    /**
+     * The {@link GCashTracing} that traces nothing.
+     */
+    GCashTracing NOOP = (endpoint, paymentRequestId, contextView) -> GCashSpan.NOOP;
+
+    /**
+     * Starts the span of an exchange with the payment gateway.
+     *
+     * @param endpoint         the {@link Endpoint}
+     * @param paymentRequestId the payment request ID, may be {@code null}
+     * @param contextView      the Reactor {@link ContextView} of the caller
+     * @return the {@link GCashSpan}
+     */
+    GCashSpan start(Endpoint endpoint, String paymentRequestId, ContextView contextView);
+}
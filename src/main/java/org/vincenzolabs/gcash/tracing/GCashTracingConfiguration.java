@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Creates the {@link OpenTelemetryGCashTracing} when the OpenTelemetry API is on the classpath and an
+ * {@link OpenTelemetry} bean is available, unless {@code gcash.tracing.enabled} is {@code false}. Otherwise, the
+ * client records no spans. The global instance is never looked up, because
+ * {@link io.opentelemetry.api.GlobalOpenTelemetry#get()} installs a no-op instance for good when no SDK or agent has
+ * registered itself yet.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration")
+@ConditionalOnClass(name = "io.opentelemetry.api.OpenTelemetry")
+@ConditionalOnBean(OpenTelemetry.class)
+@ConditionalOnProperty(prefix = "gcash.tracing", name = "enabled", matchIfMissing = true)
+public class GCashTracingConfiguration {
+
+    /**
+     * Creates the {@link GCashTracing}.
+     *
+     * @param openTelemetry the {@link OpenTelemetry}
+     * @return the {@link GCashTracing}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public GCashTracing gcashTracing(OpenTelemetry openTelemetry) {
+        return new OpenTelemetryGCashTracing(openTelemetry);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+import reactor.util.context.ContextView;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The OpenTelemetry {@link GCashTracing}. Every exchange is a client span whose parent is the OpenTelemetry
+ * {@link io.opentelemetry.context.Context} in the Reactor context, or else the current one. The result of an error
+ * response is taken from its {@link ApiException}. The phases of the exchange are recorded as child spans only if the
+ * exchange span is sampled.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class OpenTelemetryGCashTracing implements GCashTracing {
+
+    static final AttributeKey<String> ENDPOINT_PATH = AttributeKey.stringKey("gcash.endpoint.path");
+
+    static final AttributeKey<String> PAYMENT_REQUEST_ID = AttributeKey.stringKey("gcash.payment_request_id");
+
+    static final AttributeKey<String> RESULT_STATUS = AttributeKey.stringKey("gcash.result_status");
+
+    static final AttributeKey<String> RESULT_CODE = AttributeKey.stringKey("gcash.result_code");
+
+    static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
+
+    private static final String INSTRUMENTATION_NAME = "org.vincenzolabs.gcash";
+
+    private final Tracer tracer;
+
+    /**
+     * Default constructor.
+     *
+     * @param openTelemetry the {@link OpenTelemetry}
+     */
+    public OpenTelemetryGCashTracing(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    @Override
+    public GCashSpan start(Endpoint endpoint, String paymentRequestId, ContextView contextView) {
+        io.opentelemetry.context.Context parent = contextView.getOrDefault(io.opentelemetry.context.Context.class,
+                io.opentelemetry.context.Context.current());
+
+        // the phases are timed with System.nanoTime() and placed on the wall clock relative to the span start
+        long startNanos = System.nanoTime();
+        Instant now = Instant.now();
+        long startEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+
+        Span span = tracer.spanBuilder("GCash " + endpoint.name())
+                .setParent(parent)
+                .setSpanKind(SpanKind.CLIENT)
+                .setStartTimestamp(startEpochNanos, TimeUnit.NANOSECONDS)
+                .setAttribute(ENDPOINT_PATH, endpoint.getPath())
+                .setAttribute(PAYMENT_REQUEST_ID, paymentRequestId)
+                .startSpan();
+
+        if (!span.isRecording()) {
+            return GCashSpan.NOOP;
+        }
+
+        return new OpenTelemetrySpan(span, parent.with(span), startNanos, startEpochNanos);
+    }
+
+    private class OpenTelemetrySpan implements GCashSpan {
+
+        private final Span span;
+
+        private final io.opentelemetry.context.Context context;
+
+        private final long startNanos;
+
+        private final long startEpochNanos;
+
+        OpenTelemetrySpan(Span span, io.opentelemetry.context.Context context, long startNanos,
+                          long startEpochNanos) {
+            this.span = span;
+            this.context = context;
+            this.startNanos = startNanos;
+            this.startEpochNanos = startEpochNanos;
+        }
+
+        @Override
+        public void end(ExchangeTrace trace, Result result, Throwable error) {
+            for (ExchangePhase phase : ExchangePhase.values()) {
+                if (trace.isCompleted(phase)) {
+                    tracer.spanBuilder("GCash " + phase.name().toLowerCase(Locale.ROOT))
+                            .setParent(context)
+                            .setSpanKind(SpanKind.INTERNAL)
+                            .setStartTimestamp(toEpochNanos(trace.getStartNanos(phase)), TimeUnit.NANOSECONDS)
+                            .startSpan()
+                            .end(toEpochNanos(trace.getEndNanos(phase)), TimeUnit.NANOSECONDS);
+                }
+            }
+
+            if (trace.getHttpStatus() > 0) {
+                span.setAttribute(HTTP_STATUS_CODE, (long) trace.getHttpStatus());
+            }
+
+            if (result != null) {
+                span.setAttribute(RESULT_STATUS, result.getResultStatus());
+                span.setAttribute(RESULT_CODE, result.getResultCode());
+            } else if (error instanceof ApiException apiException
+                    && apiException.getApiError().getResultCode() != null) {
+                // the result of an error response of the gateway
+                span.setAttribute(RESULT_STATUS, apiException.getApiError().getCode());
+                span.setAttribute(RESULT_CODE, apiException.getApiError().getResultCode());
+            }
+
+            if (error != null) {
+                span.recordException(error);
+                span.setStatus(StatusCode.ERROR, error.getMessage());
+            }
+
+            span.end(toEpochNanos(System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public reactor.util.context.Context store(reactor.util.context.Context reactorContext) {
+            return reactorContext.put(io.opentelemetry.context.Context.class, context);
+        }
+
+        private long toEpochNanos(long nanos) {
+            return startEpochNanos + nanos - startNanos;
+        }
+    }
+}
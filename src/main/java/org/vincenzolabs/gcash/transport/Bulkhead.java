@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The bulkhead of an {@link EndpointGroup}. It owns the connection pool of the group and limits the number of requests
+ * in flight. The connection pool is only created once the Reactor Netty transport first requests a connection, so no
+ * pool is created for a transport that does not use it. No Reactor Netty type appears in its API, so the JDK transport
+ * runs without Reactor Netty on the classpath.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class Bulkhead {
+
+    private static final long DRAIN_POLL_NANOS = Duration.ofMillis(10).toNanos();
+
+    @Getter
+    private final EndpointGroup group;
+
+    private volatile NettyConnectionPool connectionPool;
+
+    @Getter
+    private final Duration connectTimeout;
+
+    private final int maxInFlight;
+
+    private final GCashProperties.Bulkhead properties;
+
+    private final GCashProperties.Http2 http2;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean suspended;
+
+    /**
+     * Default constructor.
+     *
+     * @param group      the {@link EndpointGroup}
+     * @param properties the {@link GCashProperties.Bulkhead}
+     * @param http2      the {@link GCashProperties.Http2}
+     */
+    public Bulkhead(EndpointGroup group, GCashProperties.Bulkhead properties, GCashProperties.Http2 http2) {
+        this.group = group;
+        this.connectTimeout = properties.getConnectTimeout();
+        this.maxInFlight = properties.getMaxInFlight();
+        this.properties = properties;
+        this.http2 = http2;
+    }
+
+    /**
+     * Returns the {@link NettyConnectionPool}, creating it on first use. Only the Reactor Netty transport calls it.
+     *
+     * @return the {@link NettyConnectionPool}
+     */
+    NettyConnectionPool getConnectionPool() {
+        NettyConnectionPool pool = connectionPool;
+        if (pool != null) {
+            return pool;
+        }
+
+        synchronized (this) {
+            if (connectionPool == null) {
+                connectionPool = new NettyConnectionPool(group, properties, http2);
+            }
+            return connectionPool;
+        }
+    }
+
+    /**
+     * Executes the request within the in-flight limit. The returned {@link Mono} fails immediately with
+     * {@link HttpStatus#SERVICE_UNAVAILABLE} when the limit is reached.
+     *
+     * @param request the request {@link Mono}
+     * @param <T>     the response type
+     * @return the {@link Mono} containing the response
+     */
+    public <T> Mono<T> execute(Mono<T> request) {
+        return Mono.defer(() -> {
+            if (suspended) {
+                return Mono.error(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                        "The " + group + " endpoints are suspended", null));
+            }
+
+            if (inFlight.incrementAndGet() > maxInFlight && maxInFlight > 0) {
+                inFlight.decrementAndGet();
+                return Mono.error(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "",
+                        "Too many requests in flight for " + group + " endpoints", null));
+            }
+
+            return request.doFinally(signalType -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of pooled connections in use, summed over the pools of every gateway.
+     *
+     * @return the number of active connections
+     */
+    public int getActiveConnections() {
+        NettyConnectionPool pool = connectionPool;
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    /**
+     * Returns the number of idle pooled connections, summed over the pools of every gateway.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnections() {
+        NettyConnectionPool pool = connectionPool;
+        return pool != null ? pool.getIdleConnections() : 0;
+    }
+
+    /**
+     * Returns the number of requests waiting for a pooled connection, summed over the pools of every gateway.
+     *
+     * @return the number of pending acquires
+     */
+    public int getPendingAcquires() {
+        NettyConnectionPool pool = connectionPool;
+        return pool != null ? pool.getPendingAcquires() : 0;
+    }
+
+    /**
+     * Closes the pooled connections.
+     */
+    public void dispose() {
+        NettyConnectionPool pool = connectionPool;
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    /**
+     * Rejects new requests with {@link HttpStatus#SERVICE_UNAVAILABLE} until {@link #resume()}, e.g. before a
+     * checkpoint of the JVM.
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Waits for the requests in flight to complete and closes the pooled connections. New requests must be rejected
+     * with {@link #suspend()} first.
+     *
+     * @param timeout the maximum time to wait for the requests in flight and the connections to close
+     * @return {@code true} if every request in flight completed and every connection closed within the timeout
+     */
+    public boolean drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean drained = true;
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                drained = false;
+                break;
+            }
+            LockSupport.parkNanos(DRAIN_POLL_NANOS);
+        }
+
+        NettyConnectionPool pool = connectionPool;
+        if (pool != null
+                && !pool.dispose(Duration.ofNanos(Math.max(DRAIN_POLL_NANOS, deadline - System.nanoTime())))) {
+            drained = false;
+        }
+
+        return drained;
+    }
+
+    /**
+     * Discards the disposed connection pool, so that a new one is created on first use, and accepts
+     * requests again after {@link #suspend()}.
+     */
+    public void resume() {
+        if (!suspended) {
+            return;
+        }
+
+        synchronized (this) {
+            connectionPool = null;
+        }
+        suspended = false;
+    }
+
+    /**
+     * Returns whether the bulkhead is suspended.
+     *
+     * @return {@code true} if new requests are rejected
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AttributeKey;
+
+/**
+ * The Netty {@link Channel} handlers recording the {@link ExchangeTrace} and the {@link TlsHandshakeStats} of the
+ * Reactor Netty transport. They are kept apart so that the JDK transport runs without Netty on the classpath.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+final class ChannelObservers {
+
+    private static final AttributeKey<ExchangeTrace> CHANNEL_TRACE = AttributeKey.valueOf("gcash.exchangeTrace");
+
+    private static final String CONNECTION_TIMER = "gcash.connectionTimer";
+
+    private static final String HANDSHAKE_TIMER = "gcash.tlsHandshakeTimer";
+
+    private ChannelObservers() {
+    }
+
+    /**
+     * Records the DNS, connect and TLS phases of the new {@link Channel} opened for the exchange.
+     *
+     * @param trace   the {@link ExchangeTrace}
+     * @param channel the {@link Channel}
+     */
+    static void observe(ExchangeTrace trace, Channel channel) {
+        channel.attr(CHANNEL_TRACE).set(trace);
+        trace.start(ExchangePhase.CONNECT);
+
+        channel.pipeline().addFirst(CONNECTION_TIMER, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelActive(ChannelHandlerContext ctx) {
+                ctx.channel().attr(CHANNEL_TRACE).set(null);
+                trace.end(ExchangePhase.CONNECT);
+
+                SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+                if (sslHandler != null) {
+                    trace.start(ExchangePhase.TLS);
+                    sslHandler.handshakeFuture().addListener(future -> trace.end(ExchangePhase.TLS));
+                }
+
+                ctx.pipeline().remove(this);
+                ctx.fireChannelActive();
+            }
+        });
+    }
+
+    /**
+     * Returns the trace of the exchange that opened the {@link Channel}, until the channel is connected.
+     *
+     * @param channel the {@link Channel}
+     * @return the {@link ExchangeTrace}, or {@code null} if there is none
+     */
+    static ExchangeTrace trace(Channel channel) {
+        return channel.attr(CHANNEL_TRACE).get();
+    }
+
+    /**
+     * Times the TLS handshake of the new {@link Channel}, if it has an {@link SslHandler}.
+     *
+     * @param stats   the {@link TlsHandshakeStats}
+     * @param channel the {@link Channel}
+     */
+    static void observe(TlsHandshakeStats stats, Channel channel) {
+        SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+        if (sslHandler == null) {
+            return;
+        }
+
+        channel.pipeline().addFirst(HANDSHAKE_TIMER, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelActive(ChannelHandlerContext ctx) {
+                long start = System.nanoTime();
+                long startMillis = System.currentTimeMillis();
+                sslHandler.handshakeFuture().addListener(future -> {
+                    // a resumed session was created by an earlier handshake
+                    boolean resumed = future.isSuccess()
+                            && sslHandler.engine().getSession().getCreationTime() < startMillis;
+                    stats.record(future.isSuccess(), resumed, System.nanoTime() - start);
+                });
+
+                ctx.pipeline().remove(this);
+                ctx.fireChannelActive();
+            }
+        });
+    }
+}
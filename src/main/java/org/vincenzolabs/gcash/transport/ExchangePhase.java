@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+/**
+ * The enumeration of the phases of an exchange with the payment gateway, in order.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public enum ExchangePhase {
+
+    /**
+     * The wait for the rate limiter, the priority queue and the bulkhead.
+     */
+    QUEUE,
+
+    /**
+     * The serialization of the request payload.
+     */
+    SERIALIZE,
+
+    /**
+     * The signing of the request payload.
+     */
+    SIGN,
+
+    /**
+     * The acquisition of a pooled connection, including the DNS, connect and TLS phases of a new connection.
+     */
+    CONNECTION_ACQUIRE,
+
+    /**
+     * The DNS resolution of the gateway host.
+     */
+    DNS,
+
+    /**
+     * The TCP connect.
+     */
+    CONNECT,
+
+    /**
+     * The TLS handshake.
+     */
+    TLS,
+
+    /**
+     * The write of the request.
+     */
+    REQUEST_WRITE,
+
+    /**
+     * The wait for the response headers after the request is written.
+     */
+    TIME_TO_FIRST_BYTE,
+
+    /**
+     * The read of the response body.
+     */
+    BODY_READ,
+
+    /**
+     * The verification of the response signature.
+     */
+    VERIFY,
+
+    /**
+     * The deserialization of the response payload.
+     */
+    DESERIALIZE
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.jfr.GCashPoolAcquireEvent;
+
+import java.time.Duration;
+
+/**
+ * The timestamps of the {@link ExchangePhase}s of an exchange with the payment gateway. It is carried in the Reactor
+ * context so that the transport callbacks can record the network phases of the exchange. The phases happen one after
+ * the other, so the trace is not meant to be written concurrently. The connection acquisition is also recorded as a
+ * {@link GCashPoolAcquireEvent}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class ExchangeTrace {
+
+    private static final ExchangePhase[] PHASES = ExchangePhase.values();
+
+    @Getter
+    private final Endpoint endpoint;
+
+    @Getter
+    private final long startNanos = System.nanoTime();
+
+    private final long[] starts = new long[PHASES.length];
+
+    private final long[] ends = new long[PHASES.length];
+
+    @Getter
+    @Setter
+    private volatile String gatewayUrl;
+
+    private GCashPoolAcquireEvent poolAcquireEvent;
+
+    @Getter
+    @Setter
+    private volatile int httpStatus;
+
+    /**
+     * Default constructor.
+     *
+     * @param endpoint the {@link Endpoint}
+     */
+    public ExchangeTrace(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Marks the start of the {@link ExchangePhase}.
+     *
+     * @param phase the {@link ExchangePhase}
+     */
+    public void start(ExchangePhase phase) {
+        starts[phase.ordinal()] = System.nanoTime();
+        ends[phase.ordinal()] = 0L;
+
+        if (phase == ExchangePhase.CONNECTION_ACQUIRE) {
+            poolAcquireEvent = new GCashPoolAcquireEvent();
+            poolAcquireEvent.begin();
+        }
+    }
+
+    /**
+     * Marks the end of the {@link ExchangePhase}, if it has started.
+     *
+     * @param phase the {@link ExchangePhase}
+     */
+    public void end(ExchangePhase phase) {
+        if (starts[phase.ordinal()] == 0L) {
+            return;
+        }
+
+        ends[phase.ordinal()] = System.nanoTime();
+
+        if (phase == ExchangePhase.CONNECTION_ACQUIRE && poolAcquireEvent != null) {
+            poolAcquireEvent.end();
+            if (poolAcquireEvent.shouldCommit()) {
+                poolAcquireEvent.setEndpoint(endpoint.name());
+                poolAcquireEvent.setGateway(gatewayUrl);
+                poolAcquireEvent.commit();
+            }
+            poolAcquireEvent = null;
+        }
+    }
+
+    /**
+     * Records the {@link ExchangePhase} with its start and end.
+     *
+     * @param phase      the {@link ExchangePhase}
+     * @param startNanos the start {@link System#nanoTime()}
+     * @param endNanos   the end {@link System#nanoTime()}
+     */
+    public void record(ExchangePhase phase, long startNanos, long endNanos) {
+        starts[phase.ordinal()] = startNanos;
+        ends[phase.ordinal()] = endNanos;
+    }
+
+    /**
+     * Returns whether the {@link ExchangePhase} has completed.
+     *
+     * @param phase the {@link ExchangePhase}
+     * @return {@code true} if the phase has completed
+     */
+    public boolean isCompleted(ExchangePhase phase) {
+        return ends[phase.ordinal()] != 0L;
+    }
+
+    /**
+     * Returns the start {@link System#nanoTime()} of the {@link ExchangePhase}.
+     *
+     * @param phase the {@link ExchangePhase}
+     * @return the start, or zero if the phase has not started
+     */
+    public long getStartNanos(ExchangePhase phase) {
+        return starts[phase.ordinal()];
+    }
+
+    /**
+     * Returns the end {@link System#nanoTime()} of the {@link ExchangePhase}.
+     *
+     * @param phase the {@link ExchangePhase}
+     * @return the end, or zero if the phase has not completed
+     */
+    public long getEndNanos(ExchangePhase phase) {
+        return ends[phase.ordinal()];
+    }
+
+    /**
+     * Returns the duration of the {@link ExchangePhase} in nanoseconds.
+     *
+     * @param phase the {@link ExchangePhase}
+     * @return the duration in nanoseconds, or zero if the phase has not completed
+     */
+    public long getNanos(ExchangePhase phase) {
+        return isCompleted(phase) ? ends[phase.ordinal()] - starts[phase.ordinal()] : 0L;
+    }
+
+    /**
+     * Returns the duration of the {@link ExchangePhase}.
+     *
+     * @param phase the {@link ExchangePhase}
+     * @return the duration, or {@link Duration#ZERO} if the phase has not completed
+     */
+    public Duration getDuration(ExchangePhase phase) {
+        return Duration.ofNanos(getNanos(phase));
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The factory of the Reactor Netty {@link HttpClient} of each {@link Bulkhead}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GCashHttpClientFactory {
+
+    private static final String READ_TIMEOUT_HANDLER = "gcash.readTimeoutHandler";
+
+    private final Map<Endpoint, Duration> readTimeouts = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Duration> responseTimeouts = new EnumMap<>(Endpoint.class);
+
+    private final boolean http2;
+
+    private final GCashProperties.EventLoop eventLoop;
+
+    private volatile LoopResources loopResources;
+
+    private final boolean preferNative;
+
+    private final SslContext sslContext;
+
+    private final GCashProperties.Dns dns;
+
+    private final boolean compressResponses;
+
+    @Getter
+    private final TlsHandshakeStats tlsHandshakeStats = new TlsHandshakeStats();
+
+    /**
+     * Default constructor.
+     *
+     * @param properties the {@link GCashProperties}
+     */
+    public GCashHttpClientFactory(GCashProperties properties) {
+        this.http2 = properties.getHttp2().isEnabled();
+
+        this.eventLoop = properties.getEventLoop();
+        this.preferNative = eventLoop.isPreferNative();
+        this.loopResources = createLoopResources();
+
+        this.sslContext = createSslContext(properties.getTls());
+        this.dns = properties.getDns();
+        this.compressResponses = properties.getCompression().isResponse();
+
+        GCashProperties.Timeouts timeouts = properties.getTimeouts();
+        for (Endpoint endpoint : Endpoint.values()) {
+            GCashProperties.EndpointTimeouts endpointTimeouts = timeouts.getEndpoints().get(endpoint);
+
+            Duration readTimeout = endpointTimeouts == null || endpointTimeouts.getReadTimeout() == null
+                    ? timeouts.getReadTimeout() : endpointTimeouts.getReadTimeout();
+            if (readTimeout != null) {
+                readTimeouts.put(endpoint, readTimeout);
+            }
+
+            Duration responseTimeout = endpointTimeouts == null || endpointTimeouts.getResponseTimeout() == null
+                    ? timeouts.getResponseTimeout() : endpointTimeouts.getResponseTimeout();
+            if (responseTimeout != null) {
+                responseTimeouts.put(endpoint, responseTimeout);
+            }
+        }
+    }
+
+    /**
+     * Creates the {@link HttpClient} of the {@link Bulkhead}. The read and response timeouts are applied per request
+     * from the {@link Endpoint} in the Reactor context, and the network phases are recorded in the
+     * {@link ExchangeTrace} in the Reactor context, if any.
+     *
+     * @param bulkhead the {@link Bulkhead}
+     * @param baseUrl  the gateway base URL
+     * @return the {@link HttpClient}
+     */
+    public HttpClient create(Bulkhead bulkhead, String baseUrl) {
+        HttpClient httpClient = HttpClient.create(bulkhead.getConnectionPool().getConnectionProvider())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) bulkhead.getConnectTimeout().toMillis())
+                .compress(compressResponses)
+                .doOnRequest((request, connection) -> {
+                    if (compressResponses) {
+                        request.requestHeaders()
+                                .set(HttpHeaderNames.ACCEPT_ENCODING, PayloadCompression.ACCEPT_ENCODING);
+                    }
+
+                    ExchangeTrace trace = request.currentContextView().getOrDefault(ExchangeTrace.class, null);
+                    if (trace != null) {
+                        trace.end(ExchangePhase.CONNECTION_ACQUIRE);
+                        trace.start(ExchangePhase.REQUEST_WRITE);
+                    }
+
+                    Endpoint endpoint = request.currentContextView().getOrDefault(Endpoint.class, null);
+                    if (endpoint == null) {
+                        return;
+                    }
+
+                    Duration responseTimeout = responseTimeouts.get(endpoint);
+                    if (responseTimeout != null) {
+                        request.responseTimeout(responseTimeout);
+                    }
+
+                    Duration readTimeout = readTimeouts.get(endpoint);
+                    if (readTimeout != null) {
+                        connection.addHandlerLast(READ_TIMEOUT_HANDLER,
+                                new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS));
+                    }
+                })
+                .doAfterRequest((request, connection) -> {
+                    ExchangeTrace trace = request.currentContextView().getOrDefault(ExchangeTrace.class, null);
+                    if (trace != null) {
+                        trace.end(ExchangePhase.REQUEST_WRITE);
+                        trace.start(ExchangePhase.TIME_TO_FIRST_BYTE);
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    ExchangeTrace trace = response.currentContextView().getOrDefault(ExchangeTrace.class, null);
+                    if (trace != null) {
+                        trace.setHttpStatus(response.status().code());
+                        trace.end(ExchangePhase.TIME_TO_FIRST_BYTE);
+                        trace.start(ExchangePhase.BODY_READ);
+                    }
+                })
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    ExchangeTrace trace = observer.currentContext().getOrDefault(ExchangeTrace.class, null);
+                    if (trace != null) {
+                        ChannelObservers.observe(trace, channel);
+                    }
+                })
+                .doOnResolve((connection, remoteAddress) -> {
+                    ExchangeTrace trace = ChannelObservers.trace(connection.channel());
+                    if (trace != null) {
+                        trace.start(ExchangePhase.DNS);
+                    }
+                })
+                .doAfterResolve((connection, remoteAddress) -> {
+                    ExchangeTrace trace = ChannelObservers.trace(connection.channel());
+                    if (trace != null) {
+                        trace.end(ExchangePhase.DNS);
+                        trace.start(ExchangePhase.CONNECT);
+                    }
+                });
+
+        LoopResources resources = loopResources;
+        if (resources != null) {
+            httpClient = httpClient.runOn(resources, preferNative);
+        }
+
+        if (dns.isEnabled()) {
+            httpClient = httpClient.resolver(spec -> spec
+                    .cacheMinTimeToLive(dns.getMinTtl())
+                    .cacheMaxTimeToLive(dns.getMaxTtl())
+                    .cacheNegativeTimeToLive(dns.getNegativeTtl()));
+        }
+
+        if (isSecure(baseUrl)) {
+            httpClient = httpClient
+                    .secure(spec -> spec.sslContext(sslContext))
+                    .doOnChannelInit((observer, channel, remoteAddress) -> ChannelObservers.observe(tlsHandshakeStats, channel));
+
+            if (http2) {
+                httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+            }
+        }
+
+        return httpClient;
+    }
+
+    /**
+     * Releases the dedicated event loops, if any.
+     */
+    public void dispose() {
+        if (loopResources != null) {
+            loopResources.dispose();
+        }
+    }
+
+    /**
+     * Releases the dedicated event loops, if any, and invalidates the cached TLS sessions, e.g. before a checkpoint
+     * of the JVM. The {@link HttpClient}s created before must not be used afterwards.
+     *
+     * @param timeout the maximum time to wait for the event loops to terminate
+     */
+    public void suspend(Duration timeout) {
+        LoopResources resources = loopResources;
+        loopResources = null;
+        if (resources != null) {
+            try {
+                resources.disposeLater(Duration.ZERO, timeout).block(timeout);
+            } catch (IllegalStateException e) {
+                log.warn("GCash event loops did not terminate within {}", timeout);
+            }
+        }
+
+        SSLSessionContext sessionContext = sslContext.sessionContext();
+        for (Enumeration<byte[]> ids = sessionContext.getIds(); ids.hasMoreElements(); ) {
+            SSLSession session = sessionContext.getSession(ids.nextElement());
+            if (session != null) {
+                session.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Creates the dedicated event loops again, if enabled, after {@link #suspend(Duration)}.
+     */
+    public void resume() {
+        if (loopResources == null) {
+            loopResources = createLoopResources();
+        }
+    }
+
+    private LoopResources createLoopResources() {
+        if (!eventLoop.isEnabled()) {
+            return null;
+        }
+
+        int threads = eventLoop.getThreads() > 0 ? eventLoop.getThreads() : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        log.info("GCash event loop: {} threads using the {} transport", threads,
+                preferNative && LoopResources.hasNativeSupport() ? "native" : "NIO");
+
+        return LoopResources.create("gcash", threads, true);
+    }
+
+    private SslContext createSslContext(GCashProperties.Tls tls) {
+        SslProvider provider = tls.getProvider() == TlsProvider.OPENSSL ? SslProvider.OPENSSL : SslProvider.JDK;
+        if (provider != SslProvider.JDK && !OpenSsl.isAvailable()) {
+            log.warn("OpenSSL is not available, using the JDK TLS provider", OpenSsl.unavailabilityCause());
+            provider = SslProvider.JDK;
+        }
+
+        SslProvider sslProvider = provider;
+        Consumer<SslContextBuilder> configurer = builder -> {
+            builder.sslProvider(sslProvider)
+                    .protocols(tls.getProtocols())
+                    .ciphers(tls.getCiphers(), SupportedCipherSuiteFilter.INSTANCE);
+            if (tls.getSessionCacheSize() > 0) {
+                builder.sessionCacheSize(tls.getSessionCacheSize());
+            }
+            if (tls.getSessionTimeout().getSeconds() > 0) {
+                builder.sessionTimeout(tls.getSessionTimeout().getSeconds());
+            }
+        };
+
+        try {
+            return http2
+                    ? Http2SslContextSpec.forClient().configure(configurer).sslContext()
+                    : Http11SslContextSpec.forClient().configure(configurer).sslContext();
+        } catch (SSLException e) {
+            throw new IllegalStateException("Failed to create the TLS context", e);
+        }
+    }
+
+    private static boolean isSecure(String baseUrl) {
+        return baseUrl != null && baseUrl.regionMatches(true, 0, "https:", 0, 6);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Mono;
+
+/**
+ * The response of a GCash endpoint, independent of the {@link GCashTransport}. The body is already decoded if the
+ * response was gzip or deflate encoded.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public interface GCashHttpResponse {
+
+    /**
+     * Returns the HTTP status code.
+     *
+     * @return the {@link HttpStatusCode}
+     */
+    HttpStatusCode statusCode();
+
+    /**
+     * Returns the response headers.
+     *
+     * @return the {@link HttpHeaders}
+     */
+    HttpHeaders headers();
+
+    /**
+     * Reads the response body.
+     *
+     * @return the {@link Mono} containing the body, or an empty {@link Mono} if there is no body
+     */
+    Mono<String> bodyToMono();
+
+    /**
+     * Creates the exception of an unexpected response.
+     *
+     * @return the {@link Mono} containing the exception
+     */
+    Mono<Throwable> createException();
+}
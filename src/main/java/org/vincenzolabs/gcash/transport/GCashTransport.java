@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.vincenzolabs.gcash.config.GCashProperties;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * The HTTP transport of the GCash client. The client signs, schedules, routes and verifies the requests; the transport
+ * only sends them to a {@link Gateway} and hands the response to the client. The {@link Bulkhead} limits the requests
+ * in flight regardless of the transport.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public interface GCashTransport {
+
+    /**
+     * Creates the transport of the configured {@link TransportType}. The JDK transport is used if Reactor Netty or
+     * Spring WebFlux is not on the classpath.
+     *
+     * @param properties the {@link GCashProperties}
+     * @return the {@link GCashTransport}
+     */
+    static GCashTransport create(GCashProperties properties) {
+        return properties.getTransport().getType() == TransportType.JDK || !ReactorNettyTransport.isAvailable()
+                ? new JdkHttpTransport(properties)
+                : new ReactorNettyTransport(properties);
+    }
+
+    /**
+     * Sends the request to the gateway. The response handler is applied to the response, whatever its status.
+     *
+     * @param gateway         the {@link Gateway}
+     * @param bulkhead        the {@link Bulkhead} of the endpoint
+     * @param request         the {@link GCashHttpRequest}
+     * @param trace           the {@link ExchangeTrace}, whose connection and response phases are recorded
+     * @param responseHandler the function mapping the {@link GCashHttpResponse} to the response
+     * @param <T>             the response type
+     * @return the {@link Mono} containing the response
+     */
+    <T> Mono<T> exchange(Gateway gateway, Bulkhead bulkhead, GCashHttpRequest request, ExchangeTrace trace,
+                         Function<GCashHttpResponse, Mono<T>> responseHandler);
+
+    /**
+     * Prepares the connections to the gateway for later requests. Connections are only opened with concurrent
+     * {@code HEAD} requests to the configured probe path, since there is no request that every gateway accepts;
+     * otherwise, a transport may only initialize its event loops, DNS resolver and TLS context, once. Failures are
+     * logged, not propagated.
+     *
+     * @param gateway     the {@link Gateway}
+     * @param bulkhead    the {@link Bulkhead} whose connections are opened
+     * @param connections the number of connections to open
+     * @return the {@link Mono} that completes once the connections are opened
+     */
+    Mono<Void> openConnections(Gateway gateway, Bulkhead bulkhead, int connections);
+
+    /**
+     * Returns whether the request never reached the gateway because the connection could not be established, in
+     * which case it can safely be sent to another gateway.
+     *
+     * @param throwable the {@link Throwable}
+     * @return {@code true} if it is a connect error
+     */
+    boolean isConnectError(Throwable throwable);
+
+    /**
+     * Returns whether the request failed with an I/O error of the transport, e.g. the connection could not be
+     * established, was closed or timed out, as opposed to an error response of the gateway. An I/O error that the
+     * transport mapped to an {@link org.vincenzolabs.gcash.exception.ApiException} is also a transport error.
+     *
+     * @param throwable the {@link Throwable}
+     * @return {@code true} if it is a transport error
+     */
+    boolean isTransportError(Throwable throwable);
+
+    /**
+     * Returns the TLS handshake statistics of the gateway connections.
+     *
+     * @return the {@link TlsHandshakeStats}
+     */
+    TlsHandshakeStats getTlsHandshakeStats();
+
+    /**
+     * Closes the threads and the cached TLS sessions of the transport, e.g. before a checkpoint of the JVM.
+     *
+     * @param timeout the maximum time to wait for the threads to stop
+     */
+    void suspend(Duration timeout);
+
+    /**
+     * Creates the threads of the transport again after {@link #suspend(Duration)}.
+     */
+    void resume();
+
+    /**
+     * Closes the connections and the threads of the transport.
+     */
+    void dispose();
+}
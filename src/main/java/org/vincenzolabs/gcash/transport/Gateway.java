@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import lombok.Getter;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A payment gateway endpoint with its transport client per {@link EndpointGroup} and its routing statistics.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class Gateway {
+
+    @Getter
+    private final String url;
+
+    private final long decayNanos;
+
+    private final long initialLatencyNanos;
+
+    private final long slowStartNanos;
+
+    private final Map<EndpointGroup, Object> clients = new ConcurrentHashMap<>();
+
+    private final AtomicLong latencyBits;
+
+    private final AtomicLong lastSampleNanos = new AtomicLong(System.nanoTime());
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder ejections = new LongAdder();
+
+    private volatile long ejectedUntilNanos;
+
+    private volatile long readmittedAtNanos;
+
+    /**
+     * Default constructor.
+     *
+     * @param url               the base URL
+     * @param decayTime         the time constant of the exponentially weighted latency
+     * @param initialLatency    the latency assumed before the first response and after an ejection
+     * @param slowStartDuration the time over which a readmitted gateway ramps up to its full share
+     */
+    public Gateway(String url, Duration decayTime, Duration initialLatency, Duration slowStartDuration) {
+        this.url = url;
+        this.decayNanos = Math.max(1L, decayTime.toNanos());
+        this.initialLatencyNanos = initialLatency.toNanos();
+        this.slowStartNanos = slowStartDuration.toNanos();
+        this.latencyBits = new AtomicLong(Double.doubleToRawLongBits(initialLatencyNanos));
+
+        long now = System.nanoTime();
+        this.ejectedUntilNanos = now;
+        this.readmittedAtNanos = now - slowStartNanos;
+    }
+
+    /**
+     * Returns the transport client of the {@link EndpointGroup}, creating it once.
+     *
+     * @param group   the {@link EndpointGroup}
+     * @param factory the client factory
+     * @param <C>     the client type of the {@link GCashTransport}
+     * @return the client
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C getClient(EndpointGroup group, Function<EndpointGroup, C> factory) {
+        return (C) clients.computeIfAbsent(group, factory);
+    }
+
+    /**
+     * Discards the transport clients, so that the next requests use new connection pools and resolve the gateway
+     * host again, and forgets the routing statistics, e.g. after the JVM is restored from a checkpoint.
+     */
+    public void reset() {
+        clients.clear();
+
+        long now = System.nanoTime();
+        latencyBits.set(Double.doubleToRawLongBits(initialLatencyNanos));
+        lastSampleNanos.set(now);
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = now;
+        readmittedAtNanos = now - slowStartNanos;
+    }
+
+    /**
+     * Returns the routing score. The lower the score, the more preferred the gateway.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the score
+     */
+    double score(long now) {
+        double score = getLatencyNanos() * (inFlight.get() + 1);
+
+        long sinceReadmission = now - readmittedAtNanos;
+        if (slowStartNanos > 0 && sinceReadmission < slowStartNanos) {
+            score /= Math.max(0.1, (double) Math.max(0L, sinceReadmission) / slowStartNanos);
+        }
+
+        return score;
+    }
+
+    boolean isEjected(long now) {
+        return ejectedUntilNanos - now > 0;
+    }
+
+    long getEjectedUntilNanos() {
+        return ejectedUntilNanos;
+    }
+
+    void onRequest() {
+        requests.increment();
+        inFlight.incrementAndGet();
+    }
+
+    void onSuccess(long latencyNanos, long now) {
+        inFlight.decrementAndGet();
+        consecutiveFailures.set(0);
+
+        long last = lastSampleNanos.getAndSet(now);
+        double weight = Math.exp(-(double) Math.max(0L, now - last) / decayNanos);
+        while (true) {
+            long bits = latencyBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = latencyNanos > current ? latencyNanos : current * weight + latencyNanos * (1 - weight);
+            if (latencyBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    int onFailure() {
+        inFlight.decrementAndGet();
+        failures.increment();
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void onCancel() {
+        inFlight.decrementAndGet();
+    }
+
+    void eject(long now, Duration ejectionDuration) {
+        ejectedUntilNanos = now + ejectionDuration.toNanos();
+        readmittedAtNanos = ejectedUntilNanos;
+        consecutiveFailures.set(0);
+        latencyBits.set(Double.doubleToRawLongBits(initialLatencyNanos));
+        ejections.increment();
+    }
+
+    /**
+     * Returns the exponentially weighted latency.
+     *
+     * @return the latency in nanoseconds
+     */
+    public double getLatencyNanos() {
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    /**
+     * Returns whether the gateway is currently ejected.
+     *
+     * @return {@code true} if the gateway is ejected
+     */
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests sent.
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of failed requests.
+     *
+     * @return the number of failures
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the number of times the gateway was ejected.
+     *
+     * @return the number of ejections
+     */
+    public long getEjections() {
+        return ejections.sum();
+    }
+}
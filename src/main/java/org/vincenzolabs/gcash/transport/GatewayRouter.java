@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * The latency-aware router across the payment gateway endpoints. It prefers the gateway with the lowest exponentially
+ * weighted latency multiplied by its requests in flight, ejects gateways after consecutive failures and ramps them up
+ * again over a slow start period after readmission.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GatewayRouter {
+
+    @Getter
+    private final List<Gateway> gateways;
+
+    private final int ejectionThreshold;
+
+    private final Duration ejectionDuration;
+
+    private final Predicate<Throwable> transportError;
+
+    /**
+     * Default constructor.
+     *
+     * @param urls           the gateway base URLs in order of preference
+     * @param routing        the {@link GCashProperties.Routing}
+     * @param transportError the {@link Predicate} matching the I/O errors of the transport
+     * @see GCashTransport#isTransportError(Throwable)
+     */
+    public GatewayRouter(List<String> urls, GCashProperties.Routing routing, Predicate<Throwable> transportError) {
+        this.gateways = urls.stream()
+                .map(url -> new Gateway(url, routing.getDecayTime(), routing.getInitialLatency(),
+                        routing.getSlowStartDuration()))
+                .toList();
+        this.ejectionThreshold = routing.getEjectionThreshold();
+        this.ejectionDuration = routing.getEjectionDuration();
+        this.transportError = transportError;
+    }
+
+    /**
+     * Selects the preferred gateway. If every remaining gateway is ejected, the one readmitted the soonest is
+     * returned.
+     *
+     * @param excluded the {@link Gateway}s already attempted
+     * @return the {@link Gateway}, or {@code null} if every gateway is excluded
+     */
+    public Gateway select(Collection<Gateway> excluded) {
+        if (gateways.size() == 1) {
+            return excluded.isEmpty() ? gateways.get(0) : null;
+        }
+
+        long now = System.nanoTime();
+        Gateway selected = null;
+        double selectedScore = Double.MAX_VALUE;
+        Gateway fallback = null;
+
+        for (Gateway gateway : gateways) {
+            if (excluded.contains(gateway)) {
+                continue;
+            }
+
+            if (gateway.isEjected(now)) {
+                if (fallback == null || gateway.getEjectedUntilNanos() - fallback.getEjectedUntilNanos() < 0) {
+                    fallback = gateway;
+                }
+                continue;
+            }
+
+            double score = gateway.score(now);
+            if (score < selectedScore) {
+                selected = gateway;
+                selectedScore = score;
+            }
+        }
+
+        return selected != null ? selected : fallback;
+    }
+
+    /**
+     * Resets every {@link Gateway}.
+     *
+     * @see Gateway#reset()
+     */
+    public void reset() {
+        gateways.forEach(Gateway::reset);
+    }
+
+    /**
+     * Records the latency and outcome of the response on the {@link Gateway}.
+     *
+     * @param gateway  the {@link Gateway}
+     * @param response the response {@link Mono}
+     * @param <T>      the response type
+     * @return the observed {@link Mono}
+     */
+    public <T> Mono<T> observe(Gateway gateway, Mono<T> response) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            gateway.onRequest();
+
+            return response
+                    .doOnSuccess(t -> {
+                        long now = System.nanoTime();
+                        gateway.onSuccess(now - start, now);
+                    })
+                    .doOnError(throwable -> {
+                        if (!isGatewayFailure(throwable)) {
+                            long now = System.nanoTime();
+                            gateway.onSuccess(now - start, now);
+                            return;
+                        }
+
+                        int consecutiveFailures = gateway.onFailure();
+                        if (consecutiveFailures >= ejectionThreshold && ejectionThreshold > 0 && canEject(gateway)) {
+                            log.warn("Ejecting payment gateway {} for {} after {} consecutive failures",
+                                    gateway.getUrl(), ejectionDuration, consecutiveFailures);
+                            gateway.eject(System.nanoTime(), ejectionDuration);
+                        }
+                    })
+                    .doFinally(signalType -> {
+                        if (signalType == SignalType.CANCEL) {
+                            gateway.onCancel();
+                        }
+                    });
+        });
+    }
+
+    private boolean isGatewayFailure(Throwable throwable) {
+        // the transport may map its I/O errors to an ApiException, so they are classified first
+        if (throwable instanceof TimeoutException || transportError.test(throwable)) {
+            return true;
+        }
+
+        return throwable instanceof ApiException apiException
+                && apiException.getApiError().getStatus() != null
+                && apiException.getApiError().getStatus().is5xxServerError();
+    }
+
+    private boolean canEject(Gateway gateway) {
+        long now = System.nanoTime();
+        return gateways.stream()
+                .anyMatch(other -> other != gateway && !other.isEjected(now));
+    }
+}
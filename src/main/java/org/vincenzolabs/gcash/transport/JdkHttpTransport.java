@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.VirtualThreads;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The {@link GCashTransport} on the JDK {@link HttpClient}, for applications that do not otherwise use WebFlux, e.g.
+ * batch jobs. No Netty connection pool, event loop or SSL context is created. One {@link HttpClient} reuses the
+ * connections to every gateway, multiplexing the requests over HTTP/2 when it is enabled and the gateway URL is
+ * {@code https}, and runs its tasks on virtual threads when they are supported.
+ * <p>
+ * The in-flight limits of the {@link Bulkhead}s still apply, but not their connection pool limits. Read timeouts, DNS
+ * caching and TLS handshake statistics are not supported, and the connection and response phases of the
+ * {@link ExchangeTrace} are only recorded as the time to the response headers and the time to read the body.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class JdkHttpTransport implements GCashTransport {
+
+    private static final String THREAD_PREFIX = "gcash-jdk-http-";
+
+    private final boolean http2;
+
+    private final boolean compressResponses;
+
+    private final Duration connectTimeout;
+
+    private final SSLContext sslContext;
+
+    private final SSLParameters sslParameters;
+
+    private final String probePath;
+
+    private final Map<Endpoint, Duration> responseTimeouts = new EnumMap<>(Endpoint.class);
+
+    private final TlsHandshakeStats tlsHandshakeStats = new TlsHandshakeStats();
+
+    private volatile ExecutorService executor;
+
+    private volatile HttpClient httpClient;
+
+    /**
+     * Default constructor.
+     *
+     * @param properties the {@link GCashProperties}
+     */
+    public JdkHttpTransport(GCashProperties properties) {
+        this.http2 = properties.getHttp2().isEnabled();
+        this.compressResponses = properties.getCompression().isResponse();
+        this.connectTimeout = properties.getTransport().getConnectTimeout();
+        this.sslContext = createSslContext(properties.getTls());
+        this.sslParameters = createSslParameters(properties.getTls());
+        this.probePath = properties.getWarmup().getProbePath();
+
+        GCashProperties.Timeouts timeouts = properties.getTimeouts();
+        for (Endpoint endpoint : Endpoint.values()) {
+            GCashProperties.EndpointTimeouts endpointTimeouts = timeouts.getEndpoints().get(endpoint);
+            Duration responseTimeout = endpointTimeouts == null || endpointTimeouts.getResponseTimeout() == null
+                    ? timeouts.getResponseTimeout() : endpointTimeouts.getResponseTimeout();
+            if (responseTimeout != null) {
+                responseTimeouts.put(endpoint, responseTimeout);
+            }
+        }
+
+        createHttpClient();
+    }
+
+    private void createHttpClient() {
+        ExecutorService threads = VirtualThreads.newThreadPerTaskExecutor(THREAD_PREFIX);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .sslContext(sslContext)
+                .sslParameters(sslParameters)
+                .executor(threads)
+                .build();
+        this.executor = threads;
+    }
+
+    /**
+     * Creates an {@link SSLContext} with the default key and trust managers and its own TLS session cache, so that the
+     * sessions of the gateways can be invalidated without affecting the other clients of the JVM.
+     *
+     * @param tls the {@link GCashProperties.Tls}
+     * @return the {@link SSLContext}
+     */
+    public static SSLContext createSslContext(GCashProperties.Tls tls) {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+
+            SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            if (tls.getSessionCacheSize() > 0) {
+                sessionContext.setSessionCacheSize((int) Math.min(Integer.MAX_VALUE, tls.getSessionCacheSize()));
+            }
+            long sessionTimeout = tls.getSessionTimeout().getSeconds();
+            if (sessionTimeout > 0) {
+                sessionContext.setSessionTimeout((int) Math.min(Integer.MAX_VALUE, sessionTimeout));
+            }
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create the TLS context", e);
+        }
+    }
+
+    /**
+     * Invalidates the cached TLS sessions of the {@link SSLContext}, so that no session is resumed after a restore.
+     *
+     * @param sslContext the {@link SSLContext}
+     */
+    public static void invalidateSessions(SSLContext sslContext) {
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        for (byte[] id : Collections.list(sessionContext.getIds())) {
+            SSLSession session = sessionContext.getSession(id);
+            if (session != null) {
+                session.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Creates the {@link SSLParameters} with the configured protocols and the configured ciphers that the JDK
+     * supports.
+     *
+     * @param tls the {@link GCashProperties.Tls}
+     * @return the {@link SSLParameters}
+     */
+    public static SSLParameters createSslParameters(GCashProperties.Tls tls) {
+        try {
+            SSLParameters supported = SSLContext.getDefault().getSupportedSSLParameters();
+            Set<String> supportedCiphers = Set.of(supported.getCipherSuites());
+
+            String[] ciphers = tls.getCiphers().stream()
+                    .filter(supportedCiphers::contains)
+                    .toArray(String[]::new);
+
+            SSLParameters sslParameters = new SSLParameters();
+            sslParameters.setProtocols(tls.getProtocols().toArray(String[]::new));
+            if (ciphers.length > 0) {
+                sslParameters.setCipherSuites(ciphers);
+            }
+            return sslParameters;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to create the TLS parameters", e);
+        }
+    }
+
+    @Override
+    public <T> Mono<T> exchange(Gateway gateway, Bulkhead bulkhead, GCashHttpRequest request, ExchangeTrace trace,
+                                Function<GCashHttpResponse, Mono<T>> responseHandler) {
+        Endpoint endpoint = request.endpoint();
+        URI uri = URI.create(StringUtils.removeEnd(gateway.getUrl(), "/") + endpoint.getPath());
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .version(http2 && "https".equalsIgnoreCase(uri.getScheme())
+                        ? HttpClient.Version.HTTP_2
+                        : HttpClient.Version.HTTP_1_1)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("Signature", request.signature())
+                .header("Client-Id", request.clientId())
+                .header("Request-Time", request.requestTime());
+
+        if (request.compressed()) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, PayloadCompression.CONTENT_ENCODING)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(PayloadCompression.gzip(request.payload())));
+        } else {
+            builder.POST(HttpRequest.BodyPublishers.ofString(request.payload()));
+        }
+
+        if (compressResponses) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, PayloadCompression.ACCEPT_ENCODING);
+        }
+
+        Duration responseTimeout = responseTimeouts.get(endpoint);
+        if (responseTimeout != null) {
+            builder.timeout(responseTimeout);
+        }
+
+        HttpRequest httpRequest = builder.build();
+
+        return Mono.defer(() -> {
+                    // the connection is acquired within the HttpClient
+                    trace.end(ExchangePhase.CONNECTION_ACQUIRE);
+                    trace.start(ExchangePhase.TIME_TO_FIRST_BYTE);
+
+                    return Mono.fromFuture(httpClient.sendAsync(httpRequest, responseInfo -> {
+                        trace.setHttpStatus(responseInfo.statusCode());
+                        trace.end(ExchangePhase.TIME_TO_FIRST_BYTE);
+                        trace.start(ExchangePhase.BODY_READ);
+
+                        return HttpResponse.BodySubscribers.ofByteArray();
+                    }));
+                })
+                .onErrorMap(e -> e instanceof IOException && !isConnectError(e), e -> mapError(endpoint, e))
+                .flatMap(response -> responseHandler.apply(new Response(response, endpoint)));
+    }
+
+    private static ApiException mapError(Endpoint endpoint, Throwable throwable) {
+        if (throwable instanceof HttpTimeoutException) {
+            return new ApiException(HttpStatus.GATEWAY_TIMEOUT, "", "Timed out waiting for " + endpoint.getPath(),
+                    throwable);
+        }
+
+        return new ApiException(HttpStatus.BAD_GATEWAY, "", "Failed to send request to " + endpoint.getPath(),
+                throwable);
+    }
+
+    @Override
+    public Mono<Void> openConnections(Gateway gateway, Bulkhead bulkhead, int connections) {
+        if (StringUtils.isBlank(probePath)) {
+            return Mono.empty();
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(StringUtils.removeEnd(gateway.getUrl(), "/")
+                        + StringUtils.prependIfMissing(probePath, "/")))
+                .version(http2 && StringUtils.startsWithIgnoreCase(gateway.getUrl(), "https:")
+                        ? HttpClient.Version.HTTP_2
+                        : HttpClient.Version.HTTP_1_1)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        // any HTTP response means that the connection was established and kept for reuse
+        return Flux.range(0, connections)
+                .flatMap(i -> Mono.fromFuture(() -> httpClient.sendAsync(request,
+                                HttpResponse.BodyHandlers.discarding()))
+                        .then()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to open a {} connection to payment gateway {}", bulkhead.getGroup(),
+                                    gateway.getUrl(), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    @Override
+    public boolean isConnectError(Throwable throwable) {
+        return isConnectException(throwable);
+    }
+
+    /**
+     * Returns whether the JDK {@link HttpClient} failed to connect to the gateway, e.g. the connection was refused or
+     * timed out or the host could not be resolved, so that the request can be sent to the next gateway.
+     *
+     * @param throwable the {@link Throwable}
+     * @return {@code true} if it is a connect error
+     */
+    public static boolean isConnectException(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isTransportError(Throwable throwable) {
+        // the I/O errors other than the connect errors are mapped to a 502 or 504 ApiException
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the TLS handshake statistics, which are not recorded by the JDK {@link HttpClient}.
+     *
+     * @return the empty {@link TlsHandshakeStats}
+     */
+    @Override
+    public TlsHandshakeStats getTlsHandshakeStats() {
+        return tlsHandshakeStats;
+    }
+
+    /**
+     * Closes the {@link HttpClient} and invalidates the TLS sessions of its own {@link SSLContext}. The
+     * {@link HttpClient} only closes its connections on Java 21 and later; on earlier versions they stay open until it
+     * is garbage collected, so a checkpoint fails while any of them is open.
+     *
+     * @param timeout the maximum time to wait for the threads to stop
+     */
+    @Override
+    public void suspend(Duration timeout) {
+        if (!close(httpClient, executor, timeout)) {
+            log.warn("The JDK HttpClient cannot close its connections before Java 21, so a checkpoint fails while any "
+                    + "connection to the payment gateways is open");
+        }
+
+        invalidateSessions(sslContext);
+    }
+
+    @Override
+    public void resume() {
+        createHttpClient();
+    }
+
+    @Override
+    public void dispose() {
+        close(httpClient, executor, Duration.ZERO);
+    }
+
+    /**
+     * Closes the {@link HttpClient} and shuts down its executor.
+     *
+     * @param httpClient the {@link HttpClient}
+     * @param executor   the {@link ExecutorService} of the {@link HttpClient}
+     * @param timeout    the maximum time to wait for the threads to stop
+     * @return {@code true} if the connections of the {@link HttpClient} were closed, which is only supported on Java 21
+     * and later
+     */
+    public static boolean close(HttpClient httpClient, ExecutorService executor, Duration timeout) {
+        // HttpClient implements AutoCloseable from Java 21
+        boolean closed = httpClient instanceof AutoCloseable;
+        if (httpClient instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close the JDK HttpClient", e);
+            }
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+
+        return closed;
+    }
+
+    /**
+     * Adapts the {@link HttpResponse}, decoding its gzip or deflate encoded body.
+     */
+    private record Response(HttpResponse<byte[]> response, Endpoint endpoint) implements GCashHttpResponse {
+
+        @Override
+        public HttpStatusCode statusCode() {
+            return HttpStatusCode.valueOf(response.statusCode());
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+            return headers;
+        }
+
+        @Override
+        public Mono<String> bodyToMono() {
+            byte[] body = response.body();
+            if (body == null || body.length == 0) {
+                return Mono.empty();
+            }
+
+            return Mono.fromCallable(() -> PayloadCompression.decompress(body,
+                    response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null)));
+        }
+
+        @Override
+        public Mono<Throwable> createException() {
+            return Mono.just(new ApiException(statusCode(), "", "Unexpected response from " + endpoint.getPath(),
+                    null));
+        }
+    }
+}
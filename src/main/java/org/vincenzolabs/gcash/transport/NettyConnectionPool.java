@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * The Reactor Netty {@link ConnectionProvider} of a {@link Bulkhead} with the state of the connection pool of every
+ * gateway. It is kept apart so that the JDK transport runs without Reactor Netty on the classpath.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+class NettyConnectionPool {
+
+    private final ConnectionProvider connectionProvider;
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param group      the {@link EndpointGroup}
+     * @param properties the {@link GCashProperties.Bulkhead}
+     * @param http2      the {@link GCashProperties.Http2}
+     */
+    NettyConnectionPool(EndpointGroup group, GCashProperties.Bulkhead properties, GCashProperties.Http2 http2) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("gcash-" + group.name().toLowerCase(Locale.ROOT))
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .metrics(true, PoolRegistrar::new);
+
+        if (http2.isEnabled()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(properties.getMaxConnections())
+                    .maxConcurrentStreams(http2.getMaxConcurrentStreams())
+                    .build());
+        } else {
+            builder.maxConnections(properties.getMaxConnections());
+        }
+
+        this.connectionProvider = builder.build();
+    }
+
+    /**
+     * Returns the {@link ConnectionProvider}.
+     *
+     * @return the {@link ConnectionProvider}
+     */
+    ConnectionProvider getConnectionProvider() {
+        return connectionProvider;
+    }
+
+    /**
+     * Returns the number of pooled connections in use, summed over the pools of every gateway.
+     *
+     * @return the number of active connections
+     */
+    int getActiveConnections() {
+        return sum(ConnectionPoolMetrics::acquiredSize);
+    }
+
+    /**
+     * Returns the number of idle pooled connections, summed over the pools of every gateway.
+     *
+     * @return the number of idle connections
+     */
+    int getIdleConnections() {
+        return sum(ConnectionPoolMetrics::idleSize);
+    }
+
+    /**
+     * Returns the number of requests waiting for a pooled connection, summed over the pools of every gateway.
+     *
+     * @return the number of pending acquires
+     */
+    int getPendingAcquires() {
+        return sum(ConnectionPoolMetrics::pendingAcquireSize);
+    }
+
+    private int sum(ToIntFunction<ConnectionPoolMetrics> size) {
+        int sum = 0;
+        for (ConnectionPoolMetrics pool : pools.values()) {
+            sum += size.applyAsInt(pool);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Closes the pooled connections.
+     */
+    void dispose() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Closes the pooled connections and waits for them to close.
+     *
+     * @param timeout the maximum time to wait
+     * @return {@code true} if every connection closed within the timeout
+     */
+    boolean dispose(Duration timeout) {
+        try {
+            connectionProvider.disposeLater().block(timeout);
+            return true;
+        } catch (IllegalStateException e) {
+            // the remaining connections are closed in the background
+            return false;
+        } finally {
+            pools.clear();
+        }
+    }
+
+    /**
+     * Keeps the state of the connection pool of every gateway without requiring a metrics registry.
+     */
+    private class PoolRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                    ConnectionPoolMetrics metrics) {
+            pools.put(id, metrics);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            pools.remove(id);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.exception.ApiException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The gzip compression of the request payloads and the decompression of the response bodies.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public final class PayloadCompression {
+
+    /**
+     * The {@code Content-Encoding} of the compressed payloads.
+     */
+    public static final String CONTENT_ENCODING = "gzip";
+
+    /**
+     * The {@code Accept-Encoding} of the responses that are decompressed transparently.
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private PayloadCompression() {
+    }
+
+    /**
+     * Compresses the UTF-8 bytes of the payload.
+     *
+     * @param payload the payload
+     * @return the gzip compressed bytes
+     */
+    public static byte[] gzip(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        } catch (IOException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "", "Failed to compress request payload", e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decodes the response body according to its {@code Content-Encoding}. Bodies that are not gzip or deflate encoded
+     * are returned as is.
+     *
+     * @param body            the response body
+     * @param contentEncoding the {@code Content-Encoding}, or {@code null}
+     * @return the UTF-8 decoded body
+     */
+    public static String decompress(byte[] body, String contentEncoding) {
+        if (body.length == 0 || contentEncoding == null
+                || !("gzip".equalsIgnoreCase(contentEncoding) || "deflate".equalsIgnoreCase(contentEncoding))) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        try (InputStream inputStream = "gzip".equalsIgnoreCase(contentEncoding)
+                ? new GZIPInputStream(new ByteArrayInputStream(body))
+                : new InflaterInputStream(new ByteArrayInputStream(body))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ApiException(HttpStatus.BAD_GATEWAY, "", "Failed to decompress response body", e);
+        }
+    }
+}
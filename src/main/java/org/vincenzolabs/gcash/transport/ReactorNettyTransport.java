@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * The default {@link GCashTransport} on the Reactor Netty {@link WebClient}. Every {@link Gateway} keeps one
+ * {@link WebClient} per {@link org.vincenzolabs.gcash.client.EndpointGroup}, on the connection pool of its
+ * {@link Bulkhead}. The connection and response phases are recorded from the {@link ExchangeTrace} in the Reactor
+ * context.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class ReactorNettyTransport implements GCashTransport {
+
+    private static final boolean AVAILABLE = ClassUtils.isPresent("reactor.netty.http.client.HttpClient",
+            ReactorNettyTransport.class.getClassLoader())
+            && ClassUtils.isPresent("org.springframework.web.reactive.function.client.WebClient",
+            ReactorNettyTransport.class.getClassLoader());
+
+    private final GCashHttpClientFactory httpClientFactory;
+
+    private final String probePath;
+
+    /**
+     * Default constructor.
+     *
+     * @param properties the {@link GCashProperties}
+     */
+    public ReactorNettyTransport(GCashProperties properties) {
+        this.httpClientFactory = new GCashHttpClientFactory(properties);
+        this.probePath = properties.getWarmup().getProbePath();
+    }
+
+    /**
+     * Returns whether Reactor Netty and Spring WebFlux, which are optional dependencies of the SDK, are on the
+     * classpath.
+     *
+     * @return {@code true} if the transport is available
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    @Override
+    public <T> Mono<T> exchange(Gateway gateway, Bulkhead bulkhead, GCashHttpRequest request, ExchangeTrace trace,
+                                Function<GCashHttpResponse, Mono<T>> responseHandler) {
+        Endpoint endpoint = request.endpoint();
+
+        return getWebClient(gateway, bulkhead)
+                .post()
+                .uri(endpoint.getPath())
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(httpHeaders -> {
+                    httpHeaders.add("Signature", request.signature());
+                    httpHeaders.add("Client-Id", request.clientId());
+                    httpHeaders.add("Request-Time", request.requestTime());
+                    if (request.compressed()) {
+                        httpHeaders.add(HttpHeaders.CONTENT_ENCODING, PayloadCompression.CONTENT_ENCODING);
+                    }
+                })
+                .bodyValue(request.compressed() ? PayloadCompression.gzip(request.payload()) : request.payload())
+                .exchangeToMono(clientResponse -> responseHandler.apply(new Response(clientResponse)));
+    }
+
+    @Override
+    public Mono<Void> openConnections(Gateway gateway, Bulkhead bulkhead, int connections) {
+        Mono<Void> warmup = httpClientFactory.create(bulkhead, gateway.getUrl()).warmup();
+        if (StringUtils.isNotBlank(probePath)) {
+            // any HTTP response means that the connection was established and returned to the pool
+            warmup = warmup.thenMany(Flux.range(0, connections)
+                    .flatMap(i -> getWebClient(gateway, bulkhead)
+                            .head()
+                            .uri(StringUtils.prependIfMissing(probePath, "/"))
+                            .retrieve()
+                            .toBodilessEntity()
+                            .then()
+                            .onErrorResume(WebClientResponseException.class, e -> Mono.empty())))
+                    .then();
+        }
+
+        return warmup.onErrorResume(e -> {
+            log.warn("Failed to open a {} connection to payment gateway {}", bulkhead.getGroup(), gateway.getUrl(), e);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public boolean isConnectError(Throwable throwable) {
+        if (!(throwable instanceof WebClientRequestException)) {
+            return false;
+        }
+
+        for (Throwable cause = throwable.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isTransportError(Throwable throwable) {
+        return throwable instanceof WebClientRequestException;
+    }
+
+    @Override
+    public TlsHandshakeStats getTlsHandshakeStats() {
+        return httpClientFactory.getTlsHandshakeStats();
+    }
+
+    @Override
+    public void suspend(Duration timeout) {
+        httpClientFactory.suspend(timeout);
+    }
+
+    @Override
+    public void resume() {
+        httpClientFactory.resume();
+    }
+
+    @Override
+    public void dispose() {
+        httpClientFactory.dispose();
+    }
+
+    private WebClient getWebClient(Gateway gateway, Bulkhead bulkhead) {
+        return gateway.getClient(bulkhead.getGroup(), group -> {
+            HttpClient httpClient = httpClientFactory.create(bulkhead, gateway.getUrl());
+
+            return WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .baseUrl(gateway.getUrl())
+                    .build();
+        });
+    }
+
+    /**
+     * Adapts the {@link ClientResponse}.
+     */
+    private record Response(ClientResponse clientResponse) implements GCashHttpResponse {
+
+        @Override
+        public HttpStatusCode statusCode() {
+            return clientResponse.statusCode();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return clientResponse.headers().asHttpHeaders();
+        }
+
+        @Override
+        public Mono<String> bodyToMono() {
+            return clientResponse.bodyToMono(String.class);
+        }
+
+        @Override
+        public Mono<Throwable> createException() {
+            return clientResponse.createException().cast(Throwable.class);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.LatencyDistribution;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * The test case for {@link GCashAsyncClient}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashAsyncClientTest {
+
+    private static final String PARTNER_ID = "2023010112345678901234";
+
+    private final AtomicInteger completions = new AtomicInteger();
+
+    private ExecutorService executorService;
+
+    private GCashGatewaySimulator simulator;
+
+    private GCashV1Client client;
+
+    private GCashAsyncClient asyncClient;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(1)
+                .build()
+                .start();
+
+        GCashProperties properties = new GCashProperties();
+        properties.getSigning().setPublicKey(SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+        properties.getSigning().setPrivateKey(SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        properties.getSigning().setKeyVersion("1");
+        properties.setPaymentGatewayUrl(simulator.getBaseUrl());
+        properties.setClientId(PARTNER_ID);
+        properties.getAsync().setMaxInFlight(1);
+
+        client = new GCashV1Client(JsonMapper.builder().addModule(new JavaTimeModule()).build(), properties);
+        client.afterPropertiesSet();
+
+        executorService = Executors.newSingleThreadExecutor();
+        asyncClient = new GCashAsyncClient(client, properties.getAsync(), command -> {
+            completions.incrementAndGet();
+            executorService.execute(command);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        client.destroy();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Verify that the future is completed on the executor")
+    void createPaymentAsync() throws ExecutionException, InterruptedException, TimeoutException {
+        // GIVEN
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build();
+
+        // WHEN
+        PaymentResponse paymentResponse = asyncClient.createPaymentAsync(paymentRequest).get(10, TimeUnit.SECONDS);
+
+        // THEN
+        assertThat(paymentResponse.getResult().getResultStatus()).isEqualTo("A");
+        assertThat(completions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Verify that a request beyond the in-flight limit fails immediately")
+    void maxInFlight() throws ExecutionException, InterruptedException, TimeoutException {
+        // GIVEN
+        simulator.setFaultProfile(Endpoint.PAYMENT_INQUIRY, FaultProfile.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(500)))
+                .build());
+        PaymentInquiryRequest paymentInquiryRequest = PaymentInquiryRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .build();
+
+        // WHEN
+        CompletableFuture<PaymentInquiryResponse> first = asyncClient.retrievePaymentAsync(paymentInquiryRequest);
+        CompletableFuture<PaymentInquiryResponse> second = asyncClient.retrievePaymentAsync(paymentInquiryRequest);
+
+        // THEN
+        assertThat(second).isCompletedExceptionally();
+        Throwable throwable = catchThrowable(second::join);
+        assertThat(((ApiException) throwable.getCause()).getApiError().getStatus())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        first.exceptionally(e -> null).get(10, TimeUnit.SECONDS);
+        assertThat(simulator.getRequests()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import org.vincenzolabs.gcash.transport.JdkHttpTransport;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.cert.CertificateException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * The test case for {@link GCashClient}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashClientTest {
+
+    private static final String PARTNER_ID = "2023010112345678901234";
+
+    private GCashGatewaySimulator simulator;
+
+    private GCashProperties properties;
+
+    private GCashClient client;
+
+    private KeyPair clientKeyPair;
+
+    private KeyPair gatewayKeyPair;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException, IOException {
+        clientKeyPair = SimulatorKeys.generate(2048);
+        gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(1)
+                .build()
+                .start();
+
+        properties = new GCashProperties();
+        properties.getSigning().setPublicKey(SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+        properties.getSigning().setPrivateKey(SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        properties.getSigning().setKeyVersion("1");
+        properties.setClientId(PARTNER_ID);
+        // the first gateway refuses connections
+        properties.getRouting().setGatewayUrls(List.of("http://127.0.0.1:" + unusedPort(), simulator.getBaseUrl()));
+
+        client = new GCashClient(new GCashCodec(JsonMapper.builder().addModule(new JavaTimeModule()).build(),
+                properties), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Verify that a payment is created and retrieved through the next gateway")
+    void paymentLifecycle() {
+        // GIVEN
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build();
+
+        // WHEN
+        PaymentResponse paymentResponse = client.createPayment(paymentRequest);
+        PaymentInquiryResponse paymentInquiryResponse = client.retrievePayment(PaymentInquiryRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .build());
+
+        // THEN
+        assertThat(paymentResponse.getResult().getResultStatus()).isEqualTo("A");
+        assertThat(paymentInquiryResponse.getPaymentId()).isEqualTo(paymentResponse.getPaymentId());
+        assertThat(simulator.getRequests()).isEqualTo(2);
+        assertThat(simulator.getRejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that the endpoint path is appended to the path of the gateway URL")
+    void gatewayPathPrefix() throws CertificateException {
+        // GIVEN
+        try (GCashGatewaySimulator prefixed = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .basePath("/gcash/")
+                .threads(1)
+                .build()
+                .start()) {
+            properties.getRouting().setGatewayUrls(List.of(prefixed.getBaseUrl() + "/"));
+            GCashClient prefixedClient = new GCashClient(new GCashCodec(JsonMapper.builder()
+                    .addModule(new JavaTimeModule())
+                    .build(), properties), properties);
+
+            // WHEN
+            PaymentResponse paymentResponse;
+            try {
+                paymentResponse = prefixedClient.createPayment(PaymentRequest.builder()
+                        .partnerId(PARTNER_ID)
+                        .paymentRequestId("PR-1")
+                        .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                        .build());
+            } finally {
+                prefixedClient.destroy();
+            }
+
+            // THEN
+            assertThat(prefixed.getBaseUrl()).endsWith("/gcash");
+            assertThat(paymentResponse.getResult().getResultStatus()).isEqualTo("A");
+            assertThat(prefixed.getRequests()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Verify that a request fails over from a gateway whose host cannot be resolved")
+    void unresolvableGateway() {
+        // GIVEN
+        properties.getRouting().setGatewayUrls(List.of("http://gateway.invalid", simulator.getBaseUrl()));
+        GCashClient failoverClient = new GCashClient(new GCashCodec(JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .build(), properties), properties);
+
+        // WHEN
+        PaymentResponse paymentResponse;
+        try {
+            paymentResponse = failoverClient.createPayment(PaymentRequest.builder()
+                    .partnerId(PARTNER_ID)
+                    .paymentRequestId("PR-1")
+                    .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                    .build());
+        } finally {
+            failoverClient.destroy();
+        }
+
+        // THEN
+        assertThat(paymentResponse.getResult().getResultStatus()).isEqualTo("A");
+        assertThat(simulator.getRequests()).isEqualTo(1);
+        assertThat(JdkHttpTransport.isConnectException(new UnknownHostException("gateway.invalid"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Verify that an error response is thrown as an ApiException")
+    void errorResponse() {
+        // GIVEN
+        simulator.setFaultProfile(Endpoint.PAYMENT_INQUIRY, FaultProfile.builder()
+                .errorRate(1.0)
+                .errorStatus(503)
+                .build());
+
+        // WHEN
+        ApiException exception = catchThrowableOfType(() -> client.retrievePayment(PaymentInquiryRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .build()), ApiException.class);
+
+        // THEN
+        assertThat(exception.getApiError().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(simulator.getErrors()).isEqualTo(1);
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
@@ -35,9 +35,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.vincenzolabs.gcash.config.GCashProperties;
 import org.vincenzolabs.gcash.dto.AccessTokenRequest;
 import org.vincenzolabs.gcash.dto.AccessTokenResponse;
 import org.vincenzolabs.gcash.dto.ActionForm;
@@ -68,10 +70,18 @@ import org.vincenzolabs.gcash.enumeration.PaymentStatus;
 import org.vincenzolabs.gcash.enumeration.RefundStatus;
 import org.vincenzolabs.gcash.enumeration.TerminalType;
 import org.vincenzolabs.gcash.enumeration.UserStatus;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+import org.vincenzolabs.gcash.transport.Gateway;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -79,6 +89,9 @@ import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -145,6 +158,23 @@ class GCashV1ClientTest {
             -----END PRIVATE KEY-----
             """;
 
+    private static final String PUBLIC_KEY = """
+            -----BEGIN PUBLIC KEY-----
+            MIICIjANBgkqhkiG9w0BAQEFAAOCAg8AMIICCgKCAgEAn/zctz/wcS+EZUTz6GrS
+            lD35G2T6uV3S0lnCPNb6giBYJVZxS4rwaNPXZ1P3L0f9jv0VF/hUVzRiQ0f5X15x
+            vkS9YWA5ISxxHREnrCB4G0nEjNDkDOTDv19aCkfPU9/w8MaNJF/cfn52t0J/UPmM
+            9pRfSQXXCu3BRl+VSoW/sxUE+q4vKQ6/cHph9Se80zIjmUeiLZYWxTm8g6AKNsd1
+            h0e4IOaJsmrLTOFnCb2WxWjJ2fvWzvnhIeT3yQ1TigcgsCf7EMOG+bNAl2RJrkoS
+            c3zsgmnfe0vfck7oxpFSW8dblH93n5CZi7oivb1RkwpUS6HgHUuFhRxdadA1+cdS
+            5kOBjRS3grCbsbvY7HJrGQb1AYGMM4kX9d+DPRfx0IWQm6bb/o/LPaIT4M8NOVU0
+            pkJSNI+2ta3gc1Gi5Nze8gFLPnMZ1NHTB1uwaracIDsM3HEuMnKI1t+v28+aLgnE
+            sSbpSrYY5/C1jxQUxjH6+CVDkd33h7P24jQZHT0o9nym3F4ROCJWMWpUtYTqBHc0
+            Z+xpDH8zgkgBqdt2ZrlQeBqb5vAqo/QI0ptF58oUtLEIy1SIFLotznpdIkvd/KZZ
+            ZYor7DWUWP3ylddezTJ9Fp3566DJWXe/t3zUAU7U4xLX8ePD6kvPBkh3inew+X+U
+            3tQuw1RAw6W8fCBeZIKNICECAwEAAQ==
+            -----END PUBLIC KEY-----
+            """;
+
     @Mock
     private WebClient webClient;
 
@@ -162,6 +192,9 @@ class GCashV1ClientTest {
             .addModule(new JavaTimeModule())
             .build();
 
+    @Spy
+    private GCashProperties properties = new GCashProperties();
+
     @Captor
     private ArgumentCaptor<String> stringArgumentCaptor;
 
@@ -169,15 +202,24 @@ class GCashV1ClientTest {
     private GCashV1Client client;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     void setUp() {
-        ReflectionTestUtils.setField(client, "webClient", webClient);
-        ReflectionTestUtils.setField(client, "publicKey", "publicKey");
-        ReflectionTestUtils.setField(client, "privateKey", PRIVATE_KEY);
-        ReflectionTestUtils.setField(client, "keyVersion", "0");
-        ReflectionTestUtils.setField(client, "algorithm", "RSA256");
-        ReflectionTestUtils.setField(client, "paymentGatewayUrl", "http://localhost:8081");
-        ReflectionTestUtils.setField(client, "clientId", "clientId");
-        ReflectionTestUtils.setField(client, "zoneId", "Asia/Manila");
+        properties.getSigning().setPublicKey(PUBLIC_KEY);
+        properties.getSigning().setPrivateKey(PRIVATE_KEY);
+        properties.getSigning().setKeyVersion("0");
+        properties.getSigning().setAlgorithm("RSA256");
+        properties.setPaymentGatewayUrl("http://localhost:8081");
+        properties.setClientId("clientId");
+        properties.setZoneId(ZoneId.of("Asia/Manila"));
+        client.afterPropertiesSet();
+
+        for (Gateway gateway : client.getGatewayRouter().getGateways()) {
+            Map<EndpointGroup, Object> clients = (Map<EndpointGroup, Object>) ReflectionTestUtils.getField(gateway,
+                    "clients");
+            for (EndpointGroup group : EndpointGroup.values()) {
+                clients.put(group, webClient);
+            }
+        }
     }
 
     @Test
@@ -295,6 +337,40 @@ class GCashV1ClientTest {
                 .isEqualTo(result);
     }
 
+    @Test
+    @DisplayName("Verify that the exchange listeners receive the phases of every call")
+    void exchangeListener() {
+        // GIVEN
+        Result result = Result.builder()
+                .resultCode("SUCCESS")
+                .resultStatus("S")
+                .resultMessage("success")
+                .build();
+        List<ExchangeTrace> traces = new ArrayList<>();
+        client.setExchangeListeners(List.of((trace, error) -> traces.add(trace)));
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/v1/authorizations/cancelToken")).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any(Consumer.class))).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+        when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(stringArgumentCaptor.capture())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.exchangeToMono(any(Function.class))).thenReturn(Mono.just(result));
+
+        // WHEN
+        client.cancelAccessToken("281010033AB2F588D14B43238637264FCA5Axxxx",
+                "{\"customerBelongsTo\":\"siteNameExample\"}").block();
+
+        // THEN
+        assertThat(traces).hasSize(1);
+        ExchangeTrace trace = traces.get(0);
+        assertThat(trace.getEndpoint()).isEqualTo(Endpoint.ACCESS_TOKEN_CANCELLATION);
+        assertThat(trace.getGatewayUrl()).isEqualTo("http://localhost:8081");
+        assertThat(trace.isCompleted(ExchangePhase.QUEUE)).isTrue();
+        assertThat(trace.isCompleted(ExchangePhase.SERIALIZE)).isTrue();
+        assertThat(trace.isCompleted(ExchangePhase.SIGN)).isTrue();
+    }
+
     @Test
     @DisplayName("Verify that payment is created")
     void createPayment() {
@@ -355,6 +431,75 @@ class GCashV1ClientTest {
                 .isEqualTo(paymentResponse);
     }
 
+    @Test
+    @DisplayName("Verify that an expired payment is discarded before it is signed")
+    void createPaymentWhenExpired() throws Exception {
+        // GIVEN
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .partnerId("P000000000000001xxxx")
+                .paymentRequestId("2019112719074101000700000077771xxxx")
+                .paymentOrderTitle("SHOES")
+                .paymentAmount(Amount.builder()
+                        .currency("USD")
+                        .value("10000")
+                        .build())
+                .paymentExpiryTime(OffsetDateTime.now().minusMinutes(1))
+                .build();
+
+        // WHEN
+        Mono<PaymentResponse> paymentResponseMono = client.createPayment(paymentRequest);
+
+        // THEN
+        StepVerifier.create(paymentResponseMono)
+                .expectErrorSatisfies(throwable -> assertThat(throwable)
+                        .isInstanceOf(ApiException.class)
+                        .extracting(e -> ((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.REQUEST_TIMEOUT))
+                .verify();
+        verify(webClient, never()).post();
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    @DisplayName("Verify that a request past the caller deadline is discarded before it is signed")
+    void retrievePaymentWhenDeadlineExceeded() {
+        // GIVEN
+        PaymentInquiryRequest paymentInquiryRequest = PaymentInquiryRequest.builder()
+                .partnerId("P000000000000001xxxx")
+                .paymentRequestId("2019112719074101000700000077771xxxx")
+                .build();
+
+        // WHEN
+        Mono<PaymentInquiryResponse> paymentInquiryResponseMono = client.retrievePayment(paymentInquiryRequest)
+                .contextWrite(Deadline.after(Duration.ZERO).toContext());
+
+        // THEN
+        StepVerifier.create(paymentInquiryResponseMono)
+                .expectErrorSatisfies(throwable -> assertThat(throwable)
+                        .isInstanceOf(ApiException.class)
+                        .extracting(e -> ((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.REQUEST_TIMEOUT))
+                .verify();
+        verify(webClient, never()).post();
+    }
+
+    @Test
+    @DisplayName("Verify that the warm-up runs the JSON and signing code paths without sending requests")
+    void warmUp() throws Exception {
+        // GIVEN
+        properties.getWarmup().setMinConnections(0);
+        properties.getWarmup().setIterations(2);
+
+        // WHEN
+        Mono<Void> warmUpMono = client.warmUp();
+
+        // THEN
+        StepVerifier.create(warmUpMono)
+                .verifyComplete();
+        verify(objectMapper, atLeastOnce()).writeValueAsString(any(PaymentRequest.class));
+        verify(webClient, never()).head();
+    }
+
     @Test
     @DisplayName("Verify that payment is retrieved by payment request ID")
     void retrievePaymentByPaymentRequestId() {
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link Signatures}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class SignaturesTest {
+
+    @Test
+    @DisplayName("Verify that a signature is verified with the public key parsed from PEM")
+    void signAndVerify() throws GeneralSecurityException {
+        // GIVEN
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        String content = Signatures.content("/v1/payments/pay", "clientId", "2019-11-27T12:01:01+08:00", "{}");
+
+        // WHEN
+        String signature = Signatures.sign(Signatures.parsePrivateKey(pem("PRIVATE KEY",
+                keyPair.getPrivate().getEncoded())), content);
+
+        // THEN
+        assertThat(Signatures.verify(Signatures.parsePublicKey(pem("PUBLIC KEY", keyPair.getPublic().getEncoded())),
+                content, signature)).isTrue();
+        assertThat(Signatures.verify(keyPair.getPublic(), content + " ", signature)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify that the signature is parsed from the Signature header")
+    void parseSignature() {
+        // GIVEN
+        String header = "algorithm=RSA256, keyVersion=1, signature=KEhXthj4bJ801Hqw8kaLvEKc0Rii8KsNUazw7kZgjxyGSPuOZ4";
+
+        // WHEN
+        String signature = Signatures.parseSignature(header);
+
+        // THEN
+        assertThat(signature).isEqualTo("KEhXthj4bJ801Hqw8kaLvEKc0Rii8KsNUazw7kZgjxyGSPuOZ4");
+        assertThat(Signatures.parseSignature("algorithm=RSA256, keyVersion=1")).isNull();
+    }
+
+    private static String pem(String type, byte[] encoded) {
+        return "-----BEGIN " + type + "-----" + System.lineSeparator()
+                + Base64.getMimeEncoder(64, System.lineSeparator().getBytes()).encodeToString(encoded)
+                + System.lineSeparator() + "-----END " + type + "-----";
+    }
+}
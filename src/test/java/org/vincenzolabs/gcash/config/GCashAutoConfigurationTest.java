@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.config;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.vincenzolabs.gcash.client.GCashAsyncClient;
+import org.vincenzolabs.gcash.client.GCashClient;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.client.GCashWarmupRunner;
+import org.vincenzolabs.gcash.crac.GCashCracConfiguration;
+import org.vincenzolabs.gcash.crac.GCashCracResource;
+import org.vincenzolabs.gcash.logging.WireLogMode;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import org.vincenzolabs.gcash.transport.GCashTransport;
+import org.vincenzolabs.gcash.transport.JdkHttpTransport;
+import org.vincenzolabs.gcash.transport.ReactorNettyTransport;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link GCashAutoConfiguration}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashAutoConfigurationTest {
+
+    private static ApplicationContextRunner contextRunner;
+
+    @BeforeAll
+    static void setUp() throws GeneralSecurityException {
+        KeyPair keyPair = SimulatorKeys.generate(2048);
+
+        contextRunner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                        GCashAutoConfiguration.class, GCashCracConfiguration.class))
+                .withPropertyValues(
+                        "gcash.paymentGatewayUrl=http://localhost:8081",
+                        "gcash.clientId=2023010112345678901234",
+                        "gcash.signing.privateKey=" + SimulatorKeys.pem(keyPair.getPrivate()),
+                        "gcash.signing.publicKey=" + SimulatorKeys.pem(keyPair.getPublic()));
+    }
+
+    @Test
+    @DisplayName("Verify that the client is created from the bound properties")
+    void client() {
+        // GIVEN / WHEN / THEN
+        contextRunner
+                .withPropertyValues("gcash.zoneId=UTC")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(GCashV1Client.class);
+                    assertThat(context).hasSingleBean(GCashAsyncClient.class);
+                    assertThat(context).doesNotHaveBean(GCashWarmupRunner.class);
+                    assertThat(context).doesNotHaveBean(GCashClient.class);
+                    assertThat(context).hasSingleBean(GCashCracResource.class);
+                    assertThat(context.getBean(GCashProperties.class).getZoneId().getId()).isEqualTo("UTC");
+                    assertThat(context.getBean(GCashV1Client.class).getWireLogger().getMode())
+                            .isEqualTo(WireLogMode.OFF);
+                });
+    }
+
+    @Test
+    @DisplayName("Verify that the warm-up runner, the blocking client and the debug wire log can be enabled")
+    void optionalFeatures() {
+        // GIVEN / WHEN / THEN
+        contextRunner
+                .withPropertyValues("gcash.warmup.enabled=true", "gcash.blocking.enabled=true",
+                        "spring.profiles.active=dev")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(GCashWarmupRunner.class);
+                    assertThat(context).hasSingleBean(GCashClient.class);
+                    assertThat(context.getBean(GCashV1Client.class).getWireLogger().getMode())
+                            .isEqualTo(WireLogMode.ALL);
+                    assertThat(context.getBean(GCashProperties.class).getWireLog().getMode()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Verify that the JDK transport is used when configured or when Reactor Netty is not on the classpath")
+    void transport() {
+        // GIVEN / WHEN / THEN
+        contextRunner
+                .run(context -> assertThat(context).getBean(GCashTransport.class)
+                        .isInstanceOf(ReactorNettyTransport.class));
+        contextRunner
+                .withPropertyValues("gcash.transport.type=JDK")
+                .run(context -> assertThat(context).getBean(GCashTransport.class)
+                        .isInstanceOf(JdkHttpTransport.class));
+        contextRunner
+                .withClassLoader(new FilteredClassLoader("reactor.netty"))
+                .run(context -> assertThat(context).getBean(GCashTransport.class)
+                        .isInstanceOf(JdkHttpTransport.class));
+    }
+
+    @Test
+    @DisplayName("Verify that the context fails to start with the Reactor Netty transport but without Reactor Netty")
+    void missingReactorNetty() {
+        // GIVEN / WHEN / THEN
+        contextRunner
+                .withClassLoader(new FilteredClassLoader("reactor.netty"))
+                .withPropertyValues("gcash.transport.type=REACTOR_NETTY")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure()
+                        .rootCause()
+                        .hasMessageContaining("gcash.transport.type is REACTOR_NETTY but Reactor Netty"));
+    }
+
+    @Test
+    @DisplayName("Verify that the context fails to start with a missing client ID or an invalid key")
+    void invalidProperties() {
+        // GIVEN / WHEN / THEN
+        contextRunner
+                .withPropertyValues("gcash.clientId=", "gcash.signing.privateKey=invalid")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure()
+                        .rootCause()
+                        .hasMessageContaining("gcash.clientId is required")
+                        .hasMessageContaining("gcash.signing.privateKey is not a PKCS#8 PEM-encoded RSA private key"));
+    }
+}
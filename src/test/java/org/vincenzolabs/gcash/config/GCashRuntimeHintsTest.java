@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.UserInformationResponse;
+import org.vincenzolabs.gcash.enumeration.PaymentStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link GCashRuntimeHints}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashRuntimeHintsTest {
+
+    @Test
+    @DisplayName("Verify that the DTOs and enumerations are registered for reflective binding")
+    void registerHints() throws NoSuchMethodException {
+        // GIVEN
+        RuntimeHints hints = new RuntimeHints();
+
+        // WHEN
+        new GCashRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // THEN
+        assertThat(RuntimeHintsPredicates.reflection().onType(PaymentRequest.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(UserInformationResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PaymentStatus.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(Amount.class.getDeclaredConstructor()))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Amount.class.getMethod("setValue", String.class)))
+                .accepts(hints);
+    }
+}
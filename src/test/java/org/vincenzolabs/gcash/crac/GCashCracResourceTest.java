@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.crac;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.GCashClient;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import reactor.test.StepVerifier;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link GCashCracResource}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashCracResourceTest {
+
+    private static final String PARTNER_ID = "2023010112345678901234";
+
+    private GCashGatewaySimulator simulator;
+
+    private GCashV1Client client;
+
+    private GCashClient blockingClient;
+
+    private GCashCracResource resource;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        KeyPair gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(1)
+                .build()
+                .start();
+
+        GCashProperties properties = new GCashProperties();
+        properties.getSigning().setPublicKey(SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+        properties.getSigning().setPrivateKey(SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        properties.getSigning().setKeyVersion("1");
+        properties.setPaymentGatewayUrl(simulator.getBaseUrl());
+        properties.setClientId(PARTNER_ID);
+        properties.getEventLoop().setEnabled(true);
+        properties.getEventLoop().setThreads(1);
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setJit(false);
+
+        client = new GCashV1Client(JsonMapper.builder().addModule(new JavaTimeModule()).build(), properties);
+        client.afterPropertiesSet();
+        blockingClient = new GCashClient(client.getCodec(), properties);
+        resource = new GCashCracResource(client, blockingClient, properties.getCrac());
+
+        client.createPayment(PaymentRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build()).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockingClient.destroy();
+        client.destroy();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Verify that requests are rejected between a checkpoint and a restore")
+    void checkpoint() {
+        // GIVEN / WHEN
+        resource.beforeCheckpoint(null);
+
+        // THEN
+        StepVerifier.create(client.retrievePayment(inquiry()))
+                .expectErrorSatisfies(e -> assertThat(((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Verify that the client sends requests over new connections after a restore")
+    void restore() {
+        // GIVEN
+        resource.beforeCheckpoint(null);
+
+        // WHEN
+        resource.afterRestore(null);
+        PaymentInquiryResponse paymentInquiryResponse = client.retrievePayment(inquiry()).block();
+
+        // THEN
+        assertThat(paymentInquiryResponse).isNotNull();
+        assertThat(paymentInquiryResponse.getPaymentRequestId()).isEqualTo("PR-1");
+        assertThat(simulator.getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify that the blocking client is suspended by a checkpoint and resumed by a restore")
+    void blockingClient() {
+        // GIVEN
+        resource.beforeCheckpoint(null);
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> blockingClient.retrievePayment(inquiry()))
+                .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getApiError().getStatus())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        resource.afterRestore(null);
+        PaymentInquiryResponse paymentInquiryResponse = blockingClient.retrievePayment(inquiry());
+
+        assertThat(paymentInquiryResponse.getPaymentRequestId()).isEqualTo("PR-1");
+        assertThat(simulator.getRequests()).isEqualTo(2);
+    }
+
+    private static PaymentInquiryRequest inquiry() {
+        return PaymentInquiryRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for the GCash JFR events.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashEventsTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Verify that the pool acquire event of an exchange is recorded with its endpoint and gateway")
+    void poolAcquire() throws IOException {
+        // GIVEN
+        ExchangeTrace trace = new ExchangeTrace(Endpoint.PAYMENT);
+        trace.setGatewayUrl("https://pg.paygcash.com");
+
+        // WHEN
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(GCashPoolAcquireEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            trace.start(ExchangePhase.CONNECTION_ACQUIRE);
+            trace.end(ExchangePhase.CONNECTION_ACQUIRE);
+            recording.stop();
+            events = read(recording);
+        }
+
+        // THEN
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("endpoint")).isEqualTo("PAYMENT");
+        assertThat(events.get(0).getString("gateway")).isEqualTo("https://pg.paygcash.com");
+    }
+
+    @Test
+    @DisplayName("Verify that the events faster than the default threshold are not recorded")
+    void belowThreshold() throws IOException {
+        // GIVEN
+        GCashSignEvent event = new GCashSignEvent();
+
+        // WHEN
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(GCashSignEvent.class);
+            recording.start();
+            event.begin();
+            event.end();
+            if (event.shouldCommit()) {
+                event.setKeyVersion("1");
+                event.commit();
+            }
+            recording.stop();
+            events = read(recording);
+        }
+
+        // THEN
+        assertThat(events).isEmpty();
+    }
+
+    private List<RecordedEvent> read(Recording recording) throws IOException {
+        Path file = directory.resolve("gcash.jfr");
+        recording.dump(file);
+
+        return RecordingFile.readAllEvents(file);
+    }
+}
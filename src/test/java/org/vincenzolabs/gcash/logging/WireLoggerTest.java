@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.vincenzolabs.gcash.config.GCashProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link WireLogger}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class WireLoggerTest {
+
+    @Test
+    @DisplayName("Verify that sensitive fields are redacted, including in embedded JSON strings")
+    void redact() {
+        // GIVEN
+        WireLogger wireLogger = new WireLogger(new GCashProperties.WireLog(), WireLogMode.OFF);
+        String body = "{\"accessToken\":\"281010033AB2F588D14B43238637264FCA5AAF35xxxx\",\"extraParams\":"
+                + "{\"ORDER\":\"{\\\"buyer\\\":{\\\"buyerPhoneNo\\\":\\\"+63-917-000-0000\\\"}}\"},"
+                + "\"paymentOrderTitle\":\"SHOES\"}";
+
+        // WHEN
+        String redacted = wireLogger.redact(body);
+
+        // THEN
+        assertThat(redacted)
+                .isEqualTo("{\"accessToken\":\"***\",\"extraParams\":"
+                        + "{\"ORDER\":\"{\\\"buyer\\\":{\\\"buyerPhoneNo\\\":\\\"***\\\"}}\"},"
+                        + "\"paymentOrderTitle\":\"SHOES\"}");
+    }
+
+    @Test
+    @DisplayName("Verify that values with escaped quotes and values that are not strings are redacted")
+    void redactEscapedAndNonStringValues() {
+        // GIVEN
+        WireLogger wireLogger = new WireLogger(new GCashProperties.WireLog(), WireLogMode.OFF);
+        String body = "{\"fullName\":\"Juan \\\"Johnny\\\" Dela Cruz\",\"userId\":2023010112345,"
+                + "\"address1\":{\"street\":\"Ayala\"},\"contactNo\":null,\"goods\":[{\"zipCode\":1226}],"
+                + "\"paymentOrderTitle\":\"SHOES\"}";
+
+        // WHEN
+        String redacted = wireLogger.redact(body);
+
+        // THEN
+        assertThat(redacted)
+                .isEqualTo("{\"fullName\":\"***\",\"userId\":\"***\",\"address1\":\"***\",\"contactNo\":\"***\","
+                        + "\"goods\":[{\"zipCode\":\"***\"}],\"paymentOrderTitle\":\"SHOES\"}");
+    }
+
+    @Test
+    @DisplayName("Verify that a body without sensitive fields is logged as received")
+    void redactNothing() {
+        // GIVEN
+        WireLogger wireLogger = new WireLogger(new GCashProperties.WireLog(), WireLogMode.OFF);
+        String body = "{ \"paymentOrderTitle\": \"SHOES\", \"amount\": 100.50 }";
+
+        // WHEN
+        String redacted = wireLogger.redact(body);
+
+        // THEN
+        assertThat(redacted).isSameAs(body);
+    }
+
+    @Test
+    @DisplayName("Verify that the response signature is redacted from the formatted exchange")
+    void formatRedactsSignature() {
+        // GIVEN
+        WireLogger wireLogger = new WireLogger(new GCashProperties.WireLog(), WireLogMode.OFF);
+        WireLogEntry entry = new WireLogEntry("https://pg.paygcash.com", "/v1/payments/pay",
+                "2019-11-27T12:01:01+08:00", "{}");
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Signature", "algorithm=RSA256, keyVersion=0, signature=abc");
+        headers.add("Client-Id", "clientId");
+        entry.onResponse(200, headers);
+
+        // WHEN
+        String formatted = wireLogger.format(entry);
+
+        // THEN
+        assertThat(formatted)
+                .startsWith("POST https://pg.paygcash.com/v1/payments/pay 200 in ")
+                .contains("< Signature: ***", "< Client-Id: clientId")
+                .doesNotContain("signature=abc");
+    }
+
+    @Test
+    @DisplayName("Verify that no exchange is captured when wire logging is off")
+    void off() {
+        // GIVEN
+        WireLogger wireLogger = new WireLogger(new GCashProperties.WireLog(), WireLogMode.OFF);
+
+        // WHEN
+        WireLogEntry entry = wireLogger.start("https://pg.paygcash.com", "/v1/payments/pay", "", "{}");
+        wireLogger.complete(entry, new IllegalStateException());
+
+        // THEN
+        assertThat(entry).isNull();
+        assertThat(wireLogger.getDropped()).isZero();
+    }
+}
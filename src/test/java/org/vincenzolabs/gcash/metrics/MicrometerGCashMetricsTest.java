@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.scheduling.PriorityScheduler;
+import org.vincenzolabs.gcash.transport.Bulkhead;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+import org.vincenzolabs.gcash.transport.Gateway;
+import org.vincenzolabs.gcash.transport.GatewayRouter;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import org.vincenzolabs.gcash.transport.TlsHandshakeStats;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link MicrometerGCashMetrics}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class MicrometerGCashMetricsTest {
+
+    @Test
+    @DisplayName("Verify that the exchanges are timed per endpoint and outcome")
+    void recordRequest() {
+        // GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerGCashMetrics metrics = new MicrometerGCashMetrics(registry);
+
+        // WHEN
+        metrics.recordRequest(Endpoint.PAYMENT, Duration.ofMillis(30).toNanos(), null);
+        metrics.recordRequest(Endpoint.PAYMENT, Duration.ofMillis(10).toNanos(), new IllegalStateException());
+
+        // THEN
+        assertThat(registry.get("gcash.client.requests")
+                .tags("endpoint", "PAYMENT", "outcome", "SUCCESS")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(30);
+        assertThat(registry.get("gcash.client.requests")
+                .tags("endpoint", "PAYMENT", "outcome", "ERROR")
+                .timer()
+                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify that the responses are counted by HTTP status and result")
+    void recordResponse() {
+        // GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerGCashMetrics metrics = new MicrometerGCashMetrics(registry);
+        Result result = Result.builder()
+                .resultStatus("U")
+                .resultCode("PROCESS_FAIL")
+                .build();
+
+        // WHEN
+        metrics.recordResponse(Endpoint.REFUND, 200, result);
+        metrics.recordResponse(Endpoint.REFUND, 200, Result.builder()
+                .resultStatus("U")
+                .resultCode("PROCESS_FAIL")
+                .build());
+        metrics.recordResponse(Endpoint.REFUND, 502, null);
+
+        // THEN
+        assertThat(registry.find("gcash.client.responses").counters()).hasSize(2);
+        assertThat(registry.get("gcash.client.responses")
+                .tags("endpoint", "REFUND", "status", "200", "resultStatus", "U", "resultCode", "PROCESS_FAIL")
+                .counter()
+                .count())
+                .isEqualTo(2);
+        assertThat(registry.get("gcash.client.responses")
+                .tags("status", "502", "resultStatus", "UNKNOWN")
+                .counter()
+                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify that only the completed network phases are timed per endpoint")
+    void recordPhases() {
+        // GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerGCashMetrics metrics = new MicrometerGCashMetrics(registry);
+        ExchangeTrace trace = new ExchangeTrace(Endpoint.PAYMENT_INQUIRY);
+        long start = System.nanoTime();
+        trace.record(ExchangePhase.TLS, start, start + Duration.ofMillis(40).toNanos());
+        trace.record(ExchangePhase.TIME_TO_FIRST_BYTE, start, start + Duration.ofMillis(250).toNanos());
+        trace.start(ExchangePhase.BODY_READ);
+
+        // WHEN
+        metrics.recordPhases(trace);
+
+        // THEN
+        assertThat(registry.get("gcash.client.phases")
+                .tags("endpoint", "PAYMENT_INQUIRY", "phase", "TLS")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(40);
+        assertThat(registry.get("gcash.client.phases")
+                .tags("endpoint", "PAYMENT_INQUIRY", "phase", "TIME_TO_FIRST_BYTE")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(250);
+        assertThat(registry.get("gcash.client.phases")
+                .tags("endpoint", "PAYMENT_INQUIRY", "phase", "BODY_READ")
+                .timer()
+                .count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that the in-flight and connection pool gauges are bound per endpoint group")
+    void bind() {
+        // GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerGCashMetrics metrics = new MicrometerGCashMetrics(registry);
+        GCashProperties properties = new GCashProperties();
+        Bulkhead bulkhead = new Bulkhead(EndpointGroup.WRITE, new GCashProperties.Bulkhead(), properties.getHttp2());
+
+        // WHEN
+        metrics.bind(List.of(bulkhead), new PriorityScheduler(properties.getScheduler()));
+
+        // THEN
+        assertThat(registry.get("gcash.client.inflight").tag("group", "WRITE").gauge().value()).isZero();
+        assertThat(registry.get("gcash.client.connections.active").tag("group", "WRITE").gauge().value()).isZero();
+        assertThat(registry.get("gcash.client.queued").gauge().value()).isZero();
+        bulkhead.dispose();
+    }
+
+    @Test
+    @DisplayName("Verify that the routing statistics are bound per gateway")
+    void bindGateways() {
+        // GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerGCashMetrics metrics = new MicrometerGCashMetrics(registry);
+        GCashProperties.Routing routing = new GCashProperties.Routing();
+        routing.setEjectionThreshold(1);
+        GatewayRouter router = new GatewayRouter(List.of("https://pg.paygcash.com", "https://dr.paygcash.com"),
+                routing, IOException.class::isInstance);
+        Gateway primary = router.getGateways().get(0);
+        Gateway secondary = router.getGateways().get(1);
+
+        // WHEN
+        metrics.bind(router);
+        StepVerifier.create(router.observe(primary, Mono.error(new IOException("Connection reset"))))
+                .expectError(IOException.class)
+                .verify();
+        StepVerifier.create(router.observe(secondary, Mono.just("OK")))
+                .expectNext("OK")
+                .verifyComplete();
+
+        // THEN
+        assertThat(registry.find("gcash.client.gateway.requests").functionCounters()).hasSize(2);
+        assertThat(registry.get("gcash.client.gateway.requests").tag("gateway", "https://pg.paygcash.com")
+                .functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("gcash.client.gateway.failures").tag("gateway", "https://pg.paygcash.com")
+                .functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("gcash.client.gateway.ejections").tag("gateway", "https://pg.paygcash.com")
+                .functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("gcash.client.gateway.ejected").tag("gateway", "https://pg.paygcash.com")
+                .gauge().value())
+                .isEqualTo(1);
+        assertThat(registry.get("gcash.client.gateway.failures").tag("gateway", "https://dr.paygcash.com")
+                .functionCounter().count())
+                .isZero();
+        assertThat(registry.get("gcash.client.gateway.inflight").tag("gateway", "https://dr.paygcash.com")
+                .gauge().value())
+                .isZero();
+        assertThat(registry.get("gcash.client.gateway.latency").tag("gateway", "https://dr.paygcash.com")
+                .gauge().value())
+                .isEqualTo(secondary.getLatencyNanos() / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("Verify that the TLS handshakes are counted by outcome and timed")
+    void bindTlsHandshakes() {
+        // GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerGCashMetrics metrics = new MicrometerGCashMetrics(registry);
+
+        // WHEN
+        metrics.bind(new TlsHandshakeStats());
+
+        // THEN
+        assertThat(registry.get("gcash.client.tls.handshakes").tag("outcome", "FULL").functionCounter().count())
+                .isZero();
+        assertThat(registry.get("gcash.client.tls.handshakes").tag("outcome", "RESUMED").functionCounter().count())
+                .isZero();
+        assertThat(registry.get("gcash.client.tls.handshakes").tag("outcome", "FAILED").functionCounter().count())
+                .isZero();
+        assertThat(registry.get("gcash.client.tls.handshake.time").functionTimer().count()).isZero();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link GCashRateLimiter}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashRateLimiterTest {
+
+    @Test
+    @DisplayName("Verify that the token bucket grants the burst and then rejects")
+    void tokenBucketBurst() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(1, 2);
+
+        // WHEN
+        boolean first = tokenBucket.tryAcquire();
+        boolean second = tokenBucket.tryAcquire();
+        boolean third = tokenBucket.tryAcquire();
+
+        // THEN
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify that the token bucket reports the wait within the deadline")
+    void tokenBucketReserveWithinDeadline() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(10, 1);
+        long now = System.nanoTime();
+        tokenBucket.reserve(now, 0L);
+
+        // WHEN
+        long rejected = tokenBucket.reserve(now, Duration.ofMillis(50).toNanos());
+        long granted = tokenBucket.reserve(now, Duration.ofMillis(100).toNanos());
+
+        // THEN
+        assertThat(rejected).isEqualTo(-1L);
+        assertThat(granted).isEqualTo(Duration.ofMillis(100).toNanos());
+    }
+
+    @Test
+    @DisplayName("Verify that every acquisition passes when rate limiting is disabled")
+    void acquireWhenDisabled() {
+        // GIVEN
+        GCashRateLimiter rateLimiter = new GCashRateLimiter(new GCashProperties.RateLimit());
+
+        // WHEN/THEN
+        for (int i = 0; i < 100; i++) {
+            StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, "P000000000000001xxxx"))
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("Verify that the partner quota fails the Mono immediately when exhausted")
+    void acquireWhenPartnerQuotaIsExhausted() {
+        // GIVEN
+        GCashProperties.Quota quota = new GCashProperties.Quota();
+        quota.setPermitsPerSecond(1);
+
+        GCashProperties.RateLimit rateLimit = new GCashProperties.RateLimit();
+        rateLimit.setEnabled(true);
+        rateLimit.getPartners().put("P000000000000001xxxx", quota);
+
+        GCashRateLimiter rateLimiter = new GCashRateLimiter(rateLimit);
+
+        // WHEN/THEN
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, "P000000000000001xxxx"))
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, "P000000000000002xxxx"))
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, "P000000000000001xxxx"))
+                .expectErrorSatisfies(throwable -> assertThat(throwable)
+                        .isInstanceOf(ApiException.class)
+                        .extracting(e -> ((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.TOO_MANY_REQUESTS))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Verify that the endpoint quota delays the Mono up to the maximum wait")
+    void acquireWithinMaximumWait() {
+        // GIVEN
+        GCashProperties.Quota quota = new GCashProperties.Quota();
+        quota.setPermitsPerSecond(20);
+
+        GCashProperties.RateLimit rateLimit = new GCashProperties.RateLimit();
+        rateLimit.setEnabled(true);
+        rateLimit.setMaxWait(Duration.ofSeconds(1));
+        rateLimit.getEndpoints().put(Endpoint.PAYMENT_INQUIRY, quota);
+
+        GCashRateLimiter rateLimiter = new GCashRateLimiter(rateLimit);
+
+        // WHEN/THEN
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT_INQUIRY, null))
+                .verifyComplete();
+        Duration duration = StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT_INQUIRY, null))
+                .verifyComplete();
+        assertThat(duration).isGreaterThanOrEqualTo(Duration.ofMillis(40));
+    }
+
+    @Test
+    @DisplayName("Verify that the permit is returned when the caller cancels while waiting")
+    void acquireAndCancel() {
+        // GIVEN
+        GCashProperties.Quota quota = new GCashProperties.Quota();
+        quota.setPermitsPerSecond(1);
+
+        GCashProperties.RateLimit rateLimit = new GCashProperties.RateLimit();
+        rateLimit.setEnabled(true);
+        rateLimit.setMaxWait(Duration.ofSeconds(2));
+        rateLimit.getEndpoints().put(Endpoint.PAYMENT, quota);
+
+        GCashRateLimiter rateLimiter = new GCashRateLimiter(rateLimit);
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, null))
+                .verifyComplete();
+
+        // WHEN
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, null))
+                .expectSubscription()
+                .thenCancel()
+                .verify();
+
+        // THEN
+        // without the refund, the next permit would only be granted in about 2 seconds
+        StepVerifier.create(rateLimiter.acquire(Endpoint.PAYMENT, null, Duration.ofMillis(1500)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+    }
+}
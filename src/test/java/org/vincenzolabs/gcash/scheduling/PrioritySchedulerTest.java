@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link PriorityScheduler}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class PrioritySchedulerTest {
+
+    @Test
+    @DisplayName("Verify that queued requests are started by priority")
+    void scheduleByPriority() {
+        // GIVEN
+        PriorityScheduler scheduler = new PriorityScheduler(scheduler(1, 10, Duration.ZERO));
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(RequestPriority.NORMAL, blocker.asMono()).subscribe();
+        scheduler.schedule(RequestPriority.NORMAL, Mono.fromCallable(() -> record(started, "inquiry")))
+                .contextWrite(RequestPriority.LOW.toContext())
+                .subscribe();
+        scheduler.schedule(RequestPriority.HIGH, Mono.fromCallable(() -> record(started, "refund"))).subscribe();
+        scheduler.schedule(RequestPriority.CRITICAL, Mono.fromCallable(() -> record(started, "payment"))).subscribe();
+
+        // WHEN
+        assertThat(scheduler.getQueued()).isEqualTo(3);
+        blocker.tryEmitValue("done");
+
+        // THEN
+        assertThat(started).containsExactly("payment", "refund", "inquiry");
+        assertThat(scheduler.getQueued()).isZero();
+        assertThat(scheduler.getQueueWaitHistograms().get(RequestPriority.LOW).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify that an aged request is promoted above newer higher priority requests")
+    void scheduleWithAging() throws InterruptedException {
+        // GIVEN
+        PriorityScheduler scheduler = new PriorityScheduler(scheduler(1, 10, Duration.ofMillis(10)));
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(RequestPriority.CRITICAL, blocker.asMono()).subscribe();
+        scheduler.schedule(RequestPriority.LOW, Mono.fromCallable(() -> record(started, "reconciliation")))
+                .subscribe();
+        Thread.sleep(50);
+        scheduler.schedule(RequestPriority.CRITICAL, Mono.fromCallable(() -> record(started, "payment")))
+                .subscribe();
+
+        // WHEN
+        blocker.tryEmitValue("done");
+
+        // THEN
+        assertThat(started).containsExactly("reconciliation", "payment");
+    }
+
+    @Test
+    @DisplayName("Verify that the request fails immediately when the queue is full")
+    void scheduleWhenQueueIsFull() {
+        // GIVEN
+        PriorityScheduler scheduler = new PriorityScheduler(scheduler(1, 1, Duration.ZERO));
+        Sinks.One<String> blocker = Sinks.one();
+
+        scheduler.schedule(RequestPriority.CRITICAL, blocker.asMono()).subscribe();
+        scheduler.schedule(RequestPriority.NORMAL, Mono.just("queued")).subscribe();
+
+        // WHEN/THEN
+        StepVerifier.create(scheduler.schedule(RequestPriority.CRITICAL, Mono.just("rejected")))
+                .expectErrorSatisfies(throwable -> assertThat(throwable)
+                        .isInstanceOf(ApiException.class)
+                        .extracting(e -> ((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Verify that a cancelled request leaves the queue")
+    void scheduleAndCancel() {
+        // GIVEN
+        PriorityScheduler scheduler = new PriorityScheduler(scheduler(1, 10, Duration.ZERO));
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(RequestPriority.CRITICAL, blocker.asMono()).subscribe();
+        scheduler.schedule(RequestPriority.NORMAL, Mono.fromCallable(() -> record(started, "cancelled")))
+                .subscribe()
+                .dispose();
+        scheduler.schedule(RequestPriority.NORMAL, Mono.fromCallable(() -> record(started, "inquiry")))
+                .subscribe();
+
+        // WHEN
+        blocker.tryEmitValue("done");
+
+        // THEN
+        assertThat(started).containsExactly("inquiry");
+    }
+
+    @Test
+    @DisplayName("Verify that a request cancelled while it is subscribed releases its slot")
+    void cancelWhileStarting() {
+        // GIVEN
+        PriorityScheduler scheduler = new PriorityScheduler(scheduler(1, 10, Duration.ZERO));
+        List<String> started = new CopyOnWriteArrayList<>();
+        BaseSubscriber<String> subscriber = new BaseSubscriber<>() {
+        };
+
+        // WHEN
+        scheduler.schedule(RequestPriority.NORMAL, Mono.defer(() -> {
+            // cancelled after the request started but before its subscription is assigned
+            subscriber.cancel();
+            return Mono.<String>never();
+        })).subscribe(subscriber);
+        scheduler.schedule(RequestPriority.NORMAL, Mono.fromCallable(() -> record(started, "inquiry")))
+                .subscribe();
+
+        // THEN
+        assertThat(started).containsExactly("inquiry");
+        assertThat(scheduler.getQueued()).isZero();
+    }
+
+    private static GCashProperties.Scheduler scheduler(int maxConcurrency, int maxQueueSize, Duration agingInterval) {
+        GCashProperties.Scheduler scheduler = new GCashProperties.Scheduler();
+        scheduler.setEnabled(true);
+        scheduler.setMaxConcurrency(maxConcurrency);
+        scheduler.setMaxQueueSize(maxQueueSize);
+        scheduler.setAgingInterval(agingInterval);
+        return scheduler;
+    }
+
+    private static String record(List<String> started, String name) {
+        started.add(name);
+        return name;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.simulator;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.dto.RefundRequest;
+import org.vincenzolabs.gcash.dto.RefundResponse;
+import org.vincenzolabs.gcash.enumeration.PaymentStatus;
+import org.vincenzolabs.gcash.exception.ApiException;
+import reactor.test.StepVerifier;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link GCashGatewaySimulator}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashGatewaySimulatorTest {
+
+    private KeyPair gatewayKeyPair;
+
+    private GCashGatewaySimulator simulator;
+
+    private GCashV1Client client;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        KeyPair clientKeyPair = SimulatorKeys.generate(2048);
+        gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(1)
+                .build()
+                .start();
+
+        client = createClient(clientKeyPair);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Verify that a payment is created, completed, retrieved and refunded")
+    void paymentLifecycle() {
+        // GIVEN
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .partnerId("2023010112345678901234")
+                .paymentRequestId("PR-1")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build();
+
+        // WHEN
+        PaymentResponse paymentResponse = client.createPayment(paymentRequest).block();
+        simulator.getState().complete("PR-1", PaymentStatus.SUCCESS);
+        PaymentInquiryResponse paymentInquiryResponse = client.retrievePayment(PaymentInquiryRequest.builder()
+                .partnerId("2023010112345678901234")
+                .paymentRequestId("PR-1")
+                .build()).block();
+        RefundResponse refundResponse = client.createRefund(RefundRequest.builder()
+                .partnerId("2023010112345678901234")
+                .refundRequestId("RR-1")
+                .paymentRequestId("PR-1")
+                .refundAmount(Amount.builder().currency("PHP").value("5000").build())
+                .build()).block();
+
+        // THEN
+        assertThat(paymentResponse).isNotNull();
+        assertThat(paymentResponse.getResult().getResultStatus()).isEqualTo("A");
+        assertThat(paymentInquiryResponse).isNotNull();
+        assertThat(paymentInquiryResponse.getPaymentId()).isEqualTo(paymentResponse.getPaymentId());
+        assertThat(paymentInquiryResponse.getPaymentStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        assertThat(refundResponse).isNotNull();
+        assertThat(refundResponse.getResult().getResultStatus()).isEqualTo("S");
+        assertThat(simulator.getState().getRefund("RR-1")).isNotNull();
+        assertThat(simulator.getRequests()).isEqualTo(3);
+        assertThat(simulator.getRejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that a request signed with another key is rejected")
+    void invalidSignature() throws GeneralSecurityException {
+        // GIVEN
+        GCashV1Client unknownClient = createClient(SimulatorKeys.generate(2048));
+
+        // WHEN / THEN
+        try {
+            StepVerifier.create(unknownClient.retrievePayment(PaymentInquiryRequest.builder()
+                            .partnerId("2023010112345678901234")
+                            .paymentRequestId("PR-1")
+                            .build()))
+                    .expectErrorSatisfies(e -> assertThat(((ApiException) e).getApiError().getStatus())
+                            .isEqualTo(HttpStatus.UNAUTHORIZED))
+                    .verify();
+        } finally {
+            unknownClient.destroy();
+        }
+        assertThat(simulator.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify that the fault profile of an endpoint injects errors")
+    void injectedError() {
+        // GIVEN
+        simulator.setFaultProfile(Endpoint.PAYMENT_INQUIRY, FaultProfile.builder()
+                .errorRate(1.0)
+                .errorStatus(503)
+                .build());
+
+        // WHEN / THEN
+        StepVerifier.create(client.retrievePayment(PaymentInquiryRequest.builder()
+                        .partnerId("2023010112345678901234")
+                        .paymentRequestId("PR-1")
+                        .build()))
+                .expectErrorSatisfies(e -> assertThat(((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verify();
+        assertThat(simulator.getErrors()).isEqualTo(1);
+    }
+
+    private GCashV1Client createClient(KeyPair clientKeyPair) {
+        GCashProperties properties = new GCashProperties();
+        properties.getSigning().setPublicKey(SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+        properties.getSigning().setPrivateKey(SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        properties.getSigning().setKeyVersion("1");
+        properties.setPaymentGatewayUrl(simulator.getBaseUrl());
+        properties.setClientId("2023010112345678901234");
+
+        GCashV1Client gcashClient = new GCashV1Client(JsonMapper.builder().addModule(new JavaTimeModule()).build(),
+                properties);
+        gcashClient.afterPropertiesSet();
+
+        return gcashClient;
+    }
+}
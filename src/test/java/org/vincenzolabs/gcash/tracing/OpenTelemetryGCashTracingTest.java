@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.transport.ExchangePhase;
+import org.vincenzolabs.gcash.transport.ExchangeTrace;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link OpenTelemetryGCashTracing}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class OpenTelemetryGCashTracingTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    @Test
+    @DisplayName("Verify that an exchange span has the endpoint, payment and result attributes and a child span per phase")
+    void end() {
+        // GIVEN
+        OpenTelemetryGCashTracing tracing = new OpenTelemetryGCashTracing(openTelemetry(Sampler.alwaysOn()));
+        ExchangeTrace trace = new ExchangeTrace(Endpoint.PAYMENT);
+        GCashSpan span = tracing.start(Endpoint.PAYMENT, "REQ-001", reactor.util.context.Context.empty());
+        trace.start(ExchangePhase.SIGN);
+        trace.end(ExchangePhase.SIGN);
+        trace.start(ExchangePhase.VERIFY);
+        trace.end(ExchangePhase.VERIFY);
+        trace.setHttpStatus(200);
+        Result result = Result.builder()
+                .resultStatus("S")
+                .resultCode("SUCCESS")
+                .build();
+
+        // WHEN
+        span.end(trace, result, null);
+
+        // THEN
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertThat(spans).extracting(SpanData::getName)
+                .containsExactlyInAnyOrder("GCash PAYMENT", "GCash sign", "GCash verify");
+        SpanData parent = spans.stream()
+                .filter(data -> data.getName().equals("GCash PAYMENT"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(parent.getAttributes().get(OpenTelemetryGCashTracing.ENDPOINT_PATH))
+                .isEqualTo(Endpoint.PAYMENT.getPath());
+        assertThat(parent.getAttributes().get(OpenTelemetryGCashTracing.PAYMENT_REQUEST_ID)).isEqualTo("REQ-001");
+        assertThat(parent.getAttributes().get(OpenTelemetryGCashTracing.RESULT_CODE)).isEqualTo("SUCCESS");
+        assertThat(parent.getAttributes().get(OpenTelemetryGCashTracing.HTTP_STATUS_CODE)).isEqualTo(200L);
+        assertThat(spans).filteredOn(data -> data != parent)
+                .allSatisfy(data -> assertThat(data.getParentSpanId()).isEqualTo(parent.getSpanId()));
+    }
+
+    @Test
+    @DisplayName("Verify that the parent span is taken from the Reactor context and errors are recorded")
+    void parentFromReactorContext() {
+        // GIVEN
+        OpenTelemetrySdk openTelemetry = openTelemetry(Sampler.alwaysOn());
+        OpenTelemetryGCashTracing tracing = new OpenTelemetryGCashTracing(openTelemetry);
+        Span checkout = openTelemetry.getTracer("test").spanBuilder("checkout").startSpan();
+        reactor.util.context.Context reactorContext = reactor.util.context.Context.of(Context.class,
+                Context.root().with(checkout));
+
+        // WHEN
+        GCashSpan span = tracing.start(Endpoint.REFUND, null, reactorContext);
+        span.end(new ExchangeTrace(Endpoint.REFUND), null,
+                new ApiException(HttpStatus.BAD_GATEWAY, "", "Signature verification failed", null));
+
+        // THEN
+        SpanData data = exporter.getFinishedSpanItems().get(0);
+        assertThat(data.getParentSpanId()).isEqualTo(checkout.getSpanContext().getSpanId());
+        assertThat(data.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(data.getEvents()).extracting(EventData::getName).containsExactly("exception");
+    }
+
+    @Test
+    @DisplayName("Verify that the result of an error response of the gateway is recorded")
+    void errorResponse() {
+        // GIVEN
+        OpenTelemetryGCashTracing tracing = new OpenTelemetryGCashTracing(openTelemetry(Sampler.alwaysOn()));
+        ExchangeTrace trace = new ExchangeTrace(Endpoint.PAYMENT);
+        GCashSpan span = tracing.start(Endpoint.PAYMENT, "REQ-001", reactor.util.context.Context.empty());
+        trace.setHttpStatus(400);
+        ApiException error = new ApiException(HttpStatus.BAD_REQUEST, Result.builder()
+                .resultStatus("F")
+                .resultCode("PARAM_ILLEGAL")
+                .resultMessage("Illegal parameters")
+                .build());
+
+        // WHEN
+        span.end(trace, null, error);
+
+        // THEN
+        SpanData data = exporter.getFinishedSpanItems().get(0);
+        assertThat(data.getAttributes().get(OpenTelemetryGCashTracing.RESULT_STATUS)).isEqualTo("F");
+        assertThat(data.getAttributes().get(OpenTelemetryGCashTracing.RESULT_CODE)).isEqualTo("PARAM_ILLEGAL");
+        assertThat(data.getAttributes().get(OpenTelemetryGCashTracing.HTTP_STATUS_CODE)).isEqualTo(400L);
+        assertThat(data.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(data.getStatus().getDescription()).isEqualTo("Illegal parameters");
+    }
+
+    @Test
+    @DisplayName("Verify that the result attributes are not set for an error without a gateway result")
+    void errorWithoutResult() {
+        // GIVEN
+        OpenTelemetryGCashTracing tracing = new OpenTelemetryGCashTracing(openTelemetry(Sampler.alwaysOn()));
+        GCashSpan span = tracing.start(Endpoint.PAYMENT, "REQ-001", reactor.util.context.Context.empty());
+
+        // WHEN
+        span.end(new ExchangeTrace(Endpoint.PAYMENT), null,
+                new ApiException(HttpStatus.GATEWAY_TIMEOUT, "", "Timed out waiting for /v1/payments/pay", null));
+
+        // THEN
+        SpanData data = exporter.getFinishedSpanItems().get(0);
+        assertThat(data.getAttributes().get(OpenTelemetryGCashTracing.RESULT_STATUS)).isNull();
+        assertThat(data.getAttributes().get(OpenTelemetryGCashTracing.RESULT_CODE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Verify that nothing is recorded for an exchange that is not sampled")
+    void notSampled() {
+        // GIVEN
+        OpenTelemetryGCashTracing tracing = new OpenTelemetryGCashTracing(openTelemetry(Sampler.alwaysOff()));
+
+        // WHEN
+        GCashSpan span = tracing.start(Endpoint.PAYMENT, "REQ-001", reactor.util.context.Context.empty());
+
+        // THEN
+        assertThat(span).isSameAs(GCashSpan.NOOP);
+        assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    }
+
+    private OpenTelemetrySdk openTelemetry(Sampler sampler) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .setSampler(sampler)
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link Bulkhead}. The requests of a saturated {@link EndpointGroup} stall at the simulator while
+ * the requests of another group are sent.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class BulkheadTest {
+
+    private static final Duration STALL_DURATION = Duration.ofSeconds(5);
+
+    private static final Duration WRITE_TIMEOUT = Duration.ofSeconds(2);
+
+    private final Disposable.Composite stalledRequests = Disposables.composite();
+
+    private GCashGatewaySimulator simulator;
+
+    private GCashProperties properties;
+
+    private ReactorNettyTransport transport;
+
+    private Gateway gateway;
+
+    private Bulkhead inquiry;
+
+    private Bulkhead write;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        simulator = GCashGatewaySimulator.builder()
+                .signingKey(SimulatorKeys.generate(2048).getPrivate())
+                .threads(1)
+                .endpointFaultProfile(Endpoint.PAYMENT_INQUIRY, FaultProfile.builder()
+                        .stallRate(1)
+                        .stallDuration(STALL_DURATION)
+                        .build())
+                .build()
+                .start();
+
+        properties = new GCashProperties();
+        transport = new ReactorNettyTransport(properties);
+        gateway = new GatewayRouter(List.of(simulator.getBaseUrl()), properties.getRouting(),
+                transport::isTransportError).getGateways().get(0);
+        write = new Bulkhead(EndpointGroup.WRITE, new GCashProperties.Bulkhead(), properties.getHttp2());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stalledRequests.dispose();
+        inquiry.dispose();
+        write.dispose();
+        transport.dispose();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Verify that an INQUIRY burst beyond its in-flight limit is rejected before it waits for a connection, "
+            + "and that it does not delay WRITE requests")
+    void inFlightLimit() {
+        // GIVEN
+        GCashProperties.Bulkhead inquiryProperties = new GCashProperties.Bulkhead();
+        inquiryProperties.setMaxInFlight(2);
+        inquiryProperties.setMaxConnections(1);
+        inquiryProperties.setPendingAcquireMaxCount(10);
+        inquiry = new Bulkhead(EndpointGroup.INQUIRY, inquiryProperties, properties.getHttp2());
+
+        // one request stalls on the only connection and the other waits for it
+        stall(2);
+        awaitUntil(() -> simulator.getRequests() == 1 && inquiry.getPendingAcquires() == 1);
+
+        // WHEN / THEN
+        StepVerifier.create(inquiry.execute(exchange(Endpoint.PAYMENT_INQUIRY, inquiry)))
+                .expectErrorSatisfies(e -> {
+                    assertThat(e).isInstanceOf(ApiException.class)
+                            .hasMessage("Too many requests in flight for INQUIRY endpoints");
+                    assertThat(((ApiException) e).getApiError().getStatus())
+                            .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                })
+                .verify(WRITE_TIMEOUT);
+        assertThat(inquiry.getInFlight()).isEqualTo(2);
+        assertThat(inquiry.getPendingAcquires()).isEqualTo(1);
+
+        StepVerifier.create(write.execute(exchange(Endpoint.PAYMENT, write)))
+                .expectNext(HttpStatus.OK)
+                .expectComplete()
+                .verify(WRITE_TIMEOUT);
+        assertThat(simulator.getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify that an INQUIRY burst beyond its pending-acquire limit is rejected by its own connection "
+            + "pool and that it does not delay WRITE requests")
+    void pendingAcquireLimit() {
+        // GIVEN
+        GCashProperties.Bulkhead inquiryProperties = new GCashProperties.Bulkhead();
+        inquiryProperties.setMaxInFlight(0);
+        inquiryProperties.setMaxConnections(1);
+        inquiryProperties.setPendingAcquireMaxCount(1);
+        inquiry = new Bulkhead(EndpointGroup.INQUIRY, inquiryProperties, properties.getHttp2());
+
+        stall(2);
+        awaitUntil(() -> simulator.getRequests() == 1 && inquiry.getPendingAcquires() == 1);
+
+        // WHEN / THEN
+        StepVerifier.create(inquiry.execute(exchange(Endpoint.PAYMENT_INQUIRY, inquiry)))
+                .expectErrorSatisfies(e -> {
+                    assertThat(e).isInstanceOf(WebClientRequestException.class);
+                    assertThat(rootCause(e).getClass().getSimpleName())
+                            .isEqualTo("PoolAcquirePendingLimitException");
+                    assertThat(transport.isConnectError(e)).isFalse();
+                })
+                .verify(WRITE_TIMEOUT);
+        assertThat(inquiry.getPendingAcquires()).isEqualTo(1);
+
+        StepVerifier.create(write.execute(exchange(Endpoint.PAYMENT, write)))
+                .expectNext(HttpStatus.OK)
+                .expectComplete()
+                .verify(WRITE_TIMEOUT);
+        assertThat(write.getPendingAcquires()).isZero();
+        assertThat(simulator.getRequests()).isEqualTo(2);
+    }
+
+    private void stall(int requests) {
+        for (int i = 0; i < requests; i++) {
+            stalledRequests.add(inquiry.execute(exchange(Endpoint.PAYMENT_INQUIRY, inquiry)).subscribe(
+                    statusCode -> {
+                    }, e -> {
+                    }));
+        }
+    }
+
+    private Mono<HttpStatusCode> exchange(Endpoint endpoint, Bulkhead bulkhead) {
+        GCashHttpRequest request = new GCashHttpRequest(endpoint, "clientId", "2023-01-01T00:00:00+08:00",
+                "{\"paymentRequestId\":\"PR-1\",\"paymentAmount\":{\"currency\":\"PHP\",\"value\":\"100\"}}",
+                "signature", false);
+
+        return transport.exchange(gateway, bulkhead, request, new ExchangeTrace(endpoint),
+                response -> Mono.just(response.statusCode()));
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + WRITE_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition not met within %s", WRITE_TIMEOUT).isNegative();
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
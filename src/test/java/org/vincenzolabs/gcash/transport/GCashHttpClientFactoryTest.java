@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.EndpointGroup;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link GCashHttpClientFactory}. The self-signed certificate of the HTTPS simulator is trusted
+ * through the {@code javax.net.ssl.trustStore} system properties, which are restored after each test.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GCashHttpClientFactoryTest {
+
+    private static final String TRUST_STORE = "javax.net.ssl.trustStore";
+
+    private static final String TRUST_STORE_TYPE = "javax.net.ssl.trustStoreType";
+
+    private static final String TRUST_STORE_PASSWORD = "javax.net.ssl.trustStorePassword";
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Disposable.Composite stalledRequests = Disposables.composite();
+
+    @TempDir
+    private Path tempDir;
+
+    private GCashProperties properties;
+
+    private GCashGatewaySimulator simulator;
+
+    private ReactorNettyTransport transport;
+
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GCashProperties();
+        properties.getHttp2().setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stalledRequests.dispose();
+        if (bulkhead != null) {
+            bulkhead.dispose();
+        }
+        if (transport != null) {
+            transport.dispose();
+        }
+        if (simulator != null) {
+            simulator.close();
+        }
+
+        System.clearProperty(TRUST_STORE);
+        System.clearProperty(TRUST_STORE_TYPE);
+        System.clearProperty(TRUST_STORE_PASSWORD);
+    }
+
+    @Test
+    @DisplayName("Verify that HTTP/2 is negotiated over TLS and that the streams of a connection are limited")
+    void http2() throws Exception {
+        // GIVEN
+        properties.getHttp2().setMaxConcurrentStreams(2);
+        start(GCashGatewaySimulator.builder()
+                .secure(true)
+                .endpointFaultProfile(Endpoint.PAYMENT, FaultProfile.builder()
+                        .stallRate(1)
+                        .stallDuration(Duration.ofSeconds(10))
+                        .build()), 1);
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            stalledRequests.add(exchange(Endpoint.PAYMENT).subscribe(statusCode -> {
+            }, e -> {
+            }));
+        }
+
+        // THEN
+        // both streams of the only connection are in use and the third request waits for one
+        awaitUntil(() -> simulator.getRequests() == 2 && bulkhead.getPendingAcquires() == 1);
+        assertThat(simulator.getHttp2Requests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Verify that HTTP/1.1 is used when the gateway only offers HTTP/1.1 over TLS")
+    void http11Fallback() throws Exception {
+        // GIVEN
+        start(GCashGatewaySimulator.builder()
+                .secure(true)
+                .http11Only(true), 0);
+
+        // WHEN / THEN
+        StepVerifier.create(exchange(Endpoint.PAYMENT))
+                .expectNext(HttpStatus.OK)
+                .expectComplete()
+                .verify(TIMEOUT);
+        assertThat(simulator.getRequests()).isEqualTo(1);
+        assertThat(simulator.getHttp2Requests()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that HTTP/1.1 is used for a plain HTTP gateway even if HTTP/2 is enabled")
+    void plainHttp() throws Exception {
+        // GIVEN
+        start(GCashGatewaySimulator.builder(), 0);
+
+        // WHEN / THEN
+        StepVerifier.create(exchange(Endpoint.PAYMENT))
+                .expectNext(HttpStatus.OK)
+                .expectComplete()
+                .verify(TIMEOUT);
+        assertThat(simulator.getRequests()).isEqualTo(1);
+        assertThat(simulator.getHttp2Requests()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that the exchange runs on the dedicated gcash event loops when they are enabled")
+    void dedicatedEventLoop() throws Exception {
+        // GIVEN
+        properties.getEventLoop().setEnabled(true);
+        properties.getEventLoop().setThreads(1);
+        start(GCashGatewaySimulator.builder(), 0);
+
+        // WHEN / THEN
+        StepVerifier.create(exchangeThread())
+                .assertNext(thread -> assertThat(thread).matches("gcash-(nio|epoll|kqueue)-\\d+"))
+                .expectComplete()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Verify that the exchange runs on the shared Reactor Netty event loops by default")
+    void sharedEventLoop() throws Exception {
+        // GIVEN
+        start(GCashGatewaySimulator.builder(), 0);
+
+        // WHEN / THEN
+        StepVerifier.create(exchangeThread())
+                .assertNext(thread -> assertThat(thread).startsWith("reactor-http-"))
+                .expectComplete()
+                .verify(TIMEOUT);
+    }
+
+    private void start(GCashGatewaySimulator.GCashGatewaySimulatorBuilder builder, int maxConnections)
+            throws GeneralSecurityException, IOException {
+        simulator = builder.signingKey(SimulatorKeys.generate(2048).getPrivate())
+                .threads(1)
+                .build()
+                .start();
+        if (simulator.getCertificate() != null) {
+            trust(simulator);
+        }
+
+        GCashProperties.Bulkhead bulkheadProperties = new GCashProperties.Bulkhead();
+        if (maxConnections > 0) {
+            bulkheadProperties.setMaxConnections(maxConnections);
+        }
+        bulkhead = new Bulkhead(EndpointGroup.WRITE, bulkheadProperties, properties.getHttp2());
+        // the TLS context of the factory is created with the trust store
+        transport = new ReactorNettyTransport(properties);
+    }
+
+    private Mono<HttpStatusCode> exchange(Endpoint endpoint) {
+        GCashHttpRequest request = new GCashHttpRequest(endpoint, "clientId", "2023-01-01T00:00:00+08:00",
+                "{\"paymentRequestId\":\"PR-1\",\"paymentAmount\":{\"currency\":\"PHP\",\"value\":\"100\"}}",
+                "signature", false);
+
+        return transport.exchange(gateway(), bulkhead, request, new ExchangeTrace(endpoint),
+                response -> Mono.just(response.statusCode()));
+    }
+
+    private Mono<String> exchangeThread() {
+        GCashHttpRequest request = new GCashHttpRequest(Endpoint.PAYMENT, "clientId", "2023-01-01T00:00:00+08:00",
+                "{}", "signature", false);
+
+        // the response is handled on the event loop of the connection
+        return transport.exchange(gateway(), bulkhead, request, new ExchangeTrace(Endpoint.PAYMENT),
+                response -> Mono.just(Thread.currentThread().getName()));
+    }
+
+    private Gateway gateway() {
+        return new GatewayRouter(List.of(simulator.getBaseUrl()), properties.getRouting(),
+                transport::isTransportError).getGateways().get(0);
+    }
+
+    private void trust(GCashGatewaySimulator simulator) throws GeneralSecurityException, IOException {
+        Path path = tempDir.resolve("truststore.p12");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setCertificateEntry("gcash-simulator", simulator.getCertificate());
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            keyStore.store(outputStream, PASSWORD);
+        }
+
+        System.setProperty(TRUST_STORE, path.toString());
+        System.setProperty(TRUST_STORE_TYPE, "PKCS12");
+        System.setProperty(TRUST_STORE_PASSWORD, new String(PASSWORD));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition not met within %s", TIMEOUT).isNegative();
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link GatewayRouter}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class GatewayRouterTest {
+
+    private static final String PRIMARY = "https://pg.paygcash.com";
+
+    private static final String SECONDARY = "https://dr.paygcash.com";
+
+    private final ReactorNettyTransport transport = new ReactorNettyTransport(new GCashProperties());
+
+    @AfterEach
+    void tearDown() {
+        transport.dispose();
+    }
+
+    @Test
+    @DisplayName("Verify that the gateway with the lower weighted latency is selected")
+    void selectByLatency() {
+        // GIVEN
+        GatewayRouter router = new GatewayRouter(List.of(PRIMARY, SECONDARY), routing(5),
+                transport::isTransportError);
+        Gateway primary = router.getGateways().get(0);
+        primary.onRequest();
+        primary.onSuccess(Duration.ofMillis(500).toNanos(), System.nanoTime());
+
+        // WHEN
+        Gateway selected = router.select(List.of());
+
+        // THEN
+        assertThat(selected.getUrl()).isEqualTo(SECONDARY);
+    }
+
+    @Test
+    @DisplayName("Verify that a gateway is ejected after consecutive connect errors")
+    void ejectAfterConsecutiveFailures() {
+        // GIVEN
+        GatewayRouter router = new GatewayRouter(List.of(PRIMARY, SECONDARY), routing(2),
+                transport::isTransportError);
+        Gateway primary = router.getGateways().get(0);
+
+        // WHEN
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(router.observe(primary, Mono.error(connectError())))
+                    .expectErrorMatches(transport::isConnectError)
+                    .verify();
+        }
+
+        // THEN
+        assertThat(primary.isEjected()).isTrue();
+        assertThat(primary.getFailures()).isEqualTo(2);
+        assertThat(primary.getEjections()).isEqualTo(1);
+        assertThat(router.select(List.of()).getUrl()).isEqualTo(SECONDARY);
+        assertThat(router.select(List.of(router.getGateways().get(1)))).isSameAs(primary);
+    }
+
+    @Test
+    @DisplayName("Verify that the last available gateway is never ejected")
+    void neverEjectLastGateway() {
+        // GIVEN
+        GatewayRouter router = new GatewayRouter(List.of(PRIMARY), routing(1), transport::isTransportError);
+        Gateway primary = router.getGateways().get(0);
+
+        // WHEN
+        StepVerifier.create(router.observe(primary, Mono.error(connectError())))
+                .expectError(WebClientRequestException.class)
+                .verify();
+
+        // THEN
+        assertThat(primary.isEjected()).isFalse();
+        assertThat(router.select(List.of())).isSameAs(primary);
+        assertThat(router.select(List.of(primary))).isNull();
+    }
+
+    @Test
+    @DisplayName("Verify that a stalling gateway is ejected with the JDK transport")
+    void ejectStallingGatewayWithJdkTransport() throws GeneralSecurityException {
+        // GIVEN
+        GCashProperties properties = new GCashProperties();
+        properties.getTimeouts().setResponseTimeout(Duration.ofMillis(200));
+        JdkHttpTransport jdkHttpTransport = new JdkHttpTransport(properties);
+        GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+                .signingKey(SimulatorKeys.generate(2048).getPrivate())
+                .threads(1)
+                .faultProfile(FaultProfile.builder()
+                        .stallRate(1)
+                        .stallDuration(Duration.ofSeconds(1))
+                        .build())
+                .build()
+                .start();
+
+        try {
+            GatewayRouter router = new GatewayRouter(List.of(simulator.getBaseUrl(), SECONDARY), routing(2),
+                    jdkHttpTransport::isTransportError);
+            Gateway stalling = router.getGateways().get(0);
+            GCashHttpRequest request = new GCashHttpRequest(Endpoint.PAYMENT_INQUIRY, "clientId",
+                    "2023-01-01T00:00:00+08:00", "{}", "signature", false);
+            Bulkhead bulkhead = new Bulkhead(Endpoint.PAYMENT_INQUIRY.getGroup(), new GCashProperties.Bulkhead(),
+                    properties.getHttp2());
+
+            // WHEN
+            for (int i = 0; i < 2; i++) {
+                Mono<HttpStatusCode> response = jdkHttpTransport.exchange(stalling, bulkhead, request,
+                        new ExchangeTrace(Endpoint.PAYMENT_INQUIRY), r -> Mono.just(r.statusCode()));
+
+                StepVerifier.create(router.observe(stalling, response))
+                        .expectErrorSatisfies(e -> {
+                            assertThat(e).isInstanceOf(ApiException.class)
+                                    .hasCauseInstanceOf(HttpTimeoutException.class);
+                            assertThat(((ApiException) e).getApiError().getStatus())
+                                    .isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+                            assertThat(jdkHttpTransport.isTransportError(e)).isTrue();
+                            assertThat(jdkHttpTransport.isConnectError(e)).isFalse();
+                        })
+                        .verify(Duration.ofSeconds(5));
+            }
+
+            // THEN
+            assertThat(stalling.getFailures()).isEqualTo(2);
+            assertThat(stalling.getEjections()).isEqualTo(1);
+            assertThat(router.select(List.of()).getUrl()).isEqualTo(SECONDARY);
+        } finally {
+            jdkHttpTransport.dispose();
+            simulator.close();
+        }
+    }
+
+    private static GCashProperties.Routing routing(int ejectionThreshold) {
+        GCashProperties.Routing routing = new GCashProperties.Routing();
+        routing.setEjectionThreshold(ejectionThreshold);
+        return routing;
+    }
+
+    private static WebClientRequestException connectError() {
+        return new WebClientRequestException(new ConnectException("Connection refused"), HttpMethod.POST,
+                URI.create(PRIMARY + "/v1/payments/pay"), new HttpHeaders());
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.GCashV1Client;
+import org.vincenzolabs.gcash.config.GCashProperties;
+import org.vincenzolabs.gcash.dto.Amount;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.exception.ApiException;
+import org.vincenzolabs.gcash.simulator.FaultProfile;
+import org.vincenzolabs.gcash.simulator.GCashGatewaySimulator;
+import org.vincenzolabs.gcash.simulator.SimulatorKeys;
+import reactor.test.StepVerifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link JdkHttpTransport}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class JdkHttpTransportTest {
+
+    private static final String PARTNER_ID = "2023010112345678901234";
+
+    private static final List<String> NETTY_PACKAGES = List.of("io.netty.", "reactor.netty.",
+            "org.springframework.web.reactive.", "org.springframework.http.client.reactive.");
+
+    private GCashGatewaySimulator simulator;
+
+    private GCashV1Client client;
+
+    private KeyPair clientKeyPair;
+
+    private KeyPair gatewayKeyPair;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException, IOException {
+        clientKeyPair = SimulatorKeys.generate(2048);
+        gatewayKeyPair = SimulatorKeys.generate(2048);
+
+        simulator = GCashGatewaySimulator.builder()
+                .signingKey(gatewayKeyPair.getPrivate())
+                .clientPublicKey(clientKeyPair.getPublic())
+                .threads(1)
+                .build()
+                .start();
+
+        GCashProperties properties = new GCashProperties();
+        properties.getSigning().setPublicKey(SimulatorKeys.pem(gatewayKeyPair.getPublic()));
+        properties.getSigning().setPrivateKey(SimulatorKeys.pem(clientKeyPair.getPrivate()));
+        properties.getSigning().setKeyVersion("1");
+        properties.setClientId(PARTNER_ID);
+        properties.getTransport().setType(TransportType.JDK);
+        properties.getCompression().setRequest(true);
+        properties.getCompression().setRequestMinSize(0);
+        properties.getCompression().setResponse(true);
+        // the first gateway refuses connections
+        properties.getRouting().setGatewayUrls(List.of("http://127.0.0.1:" + unusedPort(), simulator.getBaseUrl()));
+
+        client = new GCashV1Client(JsonMapper.builder().addModule(new JavaTimeModule()).build(), properties);
+        client.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Verify that a compressed payment is created and retrieved through the next gateway")
+    void paymentLifecycle() {
+        // GIVEN
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build();
+
+        // WHEN
+        PaymentResponse paymentResponse = client.createPayment(paymentRequest).block();
+        PaymentInquiryResponse paymentInquiryResponse = client.retrievePayment(inquiry()).block();
+
+        // THEN
+        assertThat(client.getTransport()).isInstanceOf(JdkHttpTransport.class);
+        assertThat(paymentResponse).isNotNull();
+        assertThat(paymentResponse.getResult().getResultStatus()).isEqualTo("A");
+        assertThat(paymentInquiryResponse).isNotNull();
+        assertThat(paymentInquiryResponse.getPaymentId()).isEqualTo(paymentResponse.getPaymentId());
+        assertThat(simulator.getRequests()).isEqualTo(2);
+        assertThat(simulator.getRejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that an error response fails with an ApiException of the response status")
+    void errorResponse() {
+        // GIVEN
+        simulator.setFaultProfile(Endpoint.PAYMENT_INQUIRY, FaultProfile.builder()
+                .errorRate(1.0)
+                .errorStatus(503)
+                .build());
+
+        // WHEN / THEN
+        StepVerifier.create(client.retrievePayment(inquiry()))
+                .expectErrorSatisfies(e -> assertThat(((ApiException) e).getApiError().getStatus())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verify();
+        assertThat(simulator.getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify that the client sends requests on a new HttpClient after it is suspended and resumed")
+    void suspendAndResume() {
+        // GIVEN
+        client.createPayment(PaymentRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                .build()).block();
+        client.suspend(Duration.ofSeconds(1));
+
+        // WHEN
+        client.resume();
+        PaymentInquiryResponse paymentInquiryResponse = client.retrievePayment(inquiry()).block();
+
+        // THEN
+        assertThat(paymentInquiryResponse).isNotNull();
+        assertThat(paymentInquiryResponse.getPaymentRequestId()).isEqualTo("PR-1");
+    }
+
+    @Test
+    @DisplayName("Verify that the client falls back to the JDK transport without Netty and WebFlux on the classpath")
+    void withoutNetty() throws Exception {
+        // GIVEN
+        Map<String, String> settings = Map.of(
+                "url", simulator.getBaseUrl(),
+                "publicKey", SimulatorKeys.pem(gatewayKeyPair.getPublic()),
+                "privateKey", SimulatorKeys.pem(clientKeyPair.getPrivate()));
+
+        try (URLClassLoader classLoader = new NettyFreeClassLoader()) {
+            // WHEN
+            @SuppressWarnings("unchecked")
+            Function<Map<String, String>, String> runner = (Function<Map<String, String>, String>) classLoader
+                    .loadClass(NettyFreeRunner.class.getName())
+                    .getConstructor()
+                    .newInstance();
+            String result = runner.apply(settings);
+
+            // THEN
+            assertThat(result).isEqualTo("JdkHttpTransport:A");
+            assertThatThrownBy(() -> Class.forName("io.netty.channel.Channel", false, classLoader))
+                    .isInstanceOf(ClassNotFoundException.class);
+            assertThat(simulator.getRequests()).isEqualTo(1);
+        }
+    }
+
+    private static PaymentInquiryRequest inquiry() {
+        return PaymentInquiryRequest.builder()
+                .partnerId(PARTNER_ID)
+                .paymentRequestId("PR-1")
+                .build();
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    /**
+     * Loads the test classpath without Netty, Reactor Netty and Spring WebFlux.
+     */
+    private static class NettyFreeClassLoader extends URLClassLoader {
+
+        NettyFreeClassLoader() throws MalformedURLException {
+            super(classpath(), ClassLoader.getPlatformClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (NETTY_PACKAGES.stream().anyMatch(name::startsWith)) {
+                throw new ClassNotFoundException(name);
+            }
+
+            return super.loadClass(name, resolve);
+        }
+
+        private static URL[] classpath() throws MalformedURLException {
+            String[] entries = System.getProperty("java.class.path").split(File.pathSeparator);
+            URL[] urls = new URL[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                urls[i] = new File(entries[i]).toURI().toURL();
+            }
+
+            return urls;
+        }
+    }
+
+    /**
+     * Creates a payment with the default transport type, within the {@link NettyFreeClassLoader}.
+     */
+    public static class NettyFreeRunner implements Function<Map<String, String>, String> {
+
+        @Override
+        public String apply(Map<String, String> settings) {
+            GCashProperties properties = new GCashProperties();
+            properties.getSigning().setPublicKey(settings.get("publicKey"));
+            properties.getSigning().setPrivateKey(settings.get("privateKey"));
+            properties.getSigning().setKeyVersion("1");
+            properties.setClientId(PARTNER_ID);
+            properties.setPaymentGatewayUrl(settings.get("url"));
+
+            GCashV1Client client = new GCashV1Client(JsonMapper.builder().addModule(new JavaTimeModule()).build(),
+                    properties);
+            try {
+                client.afterPropertiesSet();
+                PaymentResponse paymentResponse = client.createPayment(PaymentRequest.builder()
+                        .partnerId(PARTNER_ID)
+                        .paymentRequestId("PR-1")
+                        .paymentAmount(Amount.builder().currency("PHP").value("10000").build())
+                        .build()).block();
+
+                return client.getTransport().getClass().getSimpleName() + ":"
+                        + paymentResponse.getResult().getResultStatus();
+            } finally {
+                client.destroy();
+            }
+        }
+    }
+}
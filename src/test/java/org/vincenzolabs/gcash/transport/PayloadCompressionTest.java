@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link PayloadCompression}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class PayloadCompressionTest {
+
+    @Test
+    @DisplayName("Verify that a compressed payload is decompressed to the original payload")
+    void gzip() throws Exception {
+        // GIVEN
+        String payload = "{\"partnerId\":\"P000000000000001xxxx\",\"paymentOrderTitle\":\"SHOES\"}".repeat(50);
+
+        // WHEN
+        byte[] compressed = PayloadCompression.gzip(payload);
+
+        // THEN
+        assertThat(compressed.length).isLessThan(payload.length());
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(payload);
+        }
+    }
+
+    @Test
+    @DisplayName("Verify that gzip and deflate encoded response bodies are decoded")
+    void decompress() throws Exception {
+        // GIVEN
+        String body = "{\"result\":{\"resultCode\":\"SUCCESS\",\"resultStatus\":\"S\"}}".repeat(20);
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream outputStream = new DeflaterOutputStream(deflated)) {
+            outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // WHEN
+        String gunzipped = PayloadCompression.decompress(PayloadCompression.gzip(body), "gzip");
+        String inflated = PayloadCompression.decompress(deflated.toByteArray(), "deflate");
+        String identity = PayloadCompression.decompress(body.getBytes(StandardCharsets.UTF_8), null);
+
+        // THEN
+        assertThat(gunzipped).isEqualTo(body);
+        assertThat(inflated).isEqualTo(body);
+        assertThat(identity).isEqualTo(body);
+    }
+}
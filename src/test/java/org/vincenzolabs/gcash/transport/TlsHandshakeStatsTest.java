@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.transport;
+
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.SslContextBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link TlsHandshakeStats}.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Tag("unit")
+class TlsHandshakeStatsTest {
+
+    @Test
+    @DisplayName("Verify that a handshake interrupted by a closed connection is recorded as a failure")
+    void observeFailedHandshake() throws Exception {
+        // GIVEN
+        TlsHandshakeStats stats = new TlsHandshakeStats();
+        EmbeddedChannel channel = new EmbeddedChannel(DefaultChannelId.newInstance(), false, false);
+        channel.pipeline().addLast(SslContextBuilder.forClient().build().newHandler(channel.alloc()));
+        ChannelObservers.observe(stats, channel);
+
+        // WHEN
+        channel.register();
+        channel.close();
+
+        // THEN
+        assertThat(stats.getHandshakes()).isEqualTo(1);
+        assertThat(stats.getFailures()).isEqualTo(1);
+        assertThat(stats.getResumptions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that plain connections are not observed")
+    void observePlainConnection() {
+        // GIVEN
+        TlsHandshakeStats stats = new TlsHandshakeStats();
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        // WHEN
+        ChannelObservers.observe(stats, channel);
+
+        // THEN
+        assertThat(channel.pipeline().names()).doesNotContain("gcash.tlsHandshakeTimer");
+        assertThat(stats.getHandshakes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Verify that the handshake times are aggregated")
+    void record() {
+        // GIVEN
+        TlsHandshakeStats stats = new TlsHandshakeStats();
+
+        // WHEN
+        stats.record(true, false, Duration.ofMillis(40).toNanos());
+        stats.record(true, true, Duration.ofMillis(10).toNanos());
+
+        // THEN
+        assertThat(stats.getHandshakes()).isEqualTo(2);
+        assertThat(stats.getResumptions()).isEqualTo(1);
+        assertThat(stats.getTotalTime()).isEqualTo(Duration.ofMillis(50));
+        assertThat(stats.getMaxTime()).isEqualTo(Duration.ofMillis(40));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.simulator;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The faults injected by the {@link GCashGatewaySimulator} into the responses of an endpoint.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Data
+@Builder
+public class FaultProfile {
+
+    /**
+     * The {@link FaultProfile} that injects no faults.
+     */
+    public static final FaultProfile NONE = FaultProfile.builder().build();
+
+    /**
+     * The latency added before every response.
+     */
+    @Builder.Default
+    private LatencyDistribution latency = LatencyDistribution.NONE;
+
+    /**
+     * The ratio of the requests, from 0 to 1, that fail with {@link #errorStatus} and an unsigned
+     * {@code UNKNOWN_EXCEPTION} result.
+     */
+    private double errorRate;
+
+    /**
+     * The HTTP status of the injected errors.
+     */
+    @Builder.Default
+    private int errorStatus = 500;
+
+    /**
+     * The ratio of the requests, from 0 to 1, whose response is held back for {@link #stallDuration}, e.g. to trip the
+     * read and response timeouts of the client.
+     */
+    private double stallRate;
+
+    /**
+     * The time a stalled response is held back.
+     */
+    @Builder.Default
+    private Duration stallDuration = Duration.ofSeconds(60);
+
+    /**
+     * Returns the delay of the next response.
+     *
+     * @return the delay
+     */
+    Duration nextDelay() {
+        long nanos = latency.nextNanos();
+        if (stallRate > 0 && ThreadLocalRandom.current().nextDouble() < stallRate) {
+            nanos += stallDuration.toNanos();
+        }
+
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Returns whether the next response is an error.
+     *
+     * @return {@code true} if the next response is an error
+     */
+    boolean nextError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.simulator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.vincenzolabs.gcash.client.Endpoint;
+import org.vincenzolabs.gcash.client.Signatures;
+import org.vincenzolabs.gcash.dto.AccessTokenRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentNotificationRequest;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.RefundInquiryRequest;
+import org.vincenzolabs.gcash.dto.RefundRequest;
+import org.vincenzolabs.gcash.dto.Result;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * An embedded Reactor Netty simulator of the GCash payment gateway. It implements every {@link Endpoint}, verifies the
+ * signature of the requests if the public key of the client is set, signs its responses, keeps the payments and
+ * refunds in its {@link GatewayState}, and injects the latency, errors and stalls of the {@link FaultProfile} of each
+ * endpoint.
+ *
+ * <pre>{@code
+ * GCashGatewaySimulator simulator = GCashGatewaySimulator.builder()
+ *         .signingKey(gatewayKeyPair.getPrivate())
+ *         .clientPublicKey(clientKeyPair.getPublic())
+ *         .endpointFaultProfile(Endpoint.PAYMENT, FaultProfile.builder()
+ *                 .latency(LatencyDistribution.logNormal(Duration.ofMillis(80), Duration.ofMillis(400)))
+ *                 .errorRate(0.01)
+ *                 .build())
+ *         .build()
+ *         .start();
+ * }</pre>
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+@Slf4j
+public class GCashGatewaySimulator implements AutoCloseable {
+
+    private static final String CLIENT_ID = "Client-Id";
+
+    private static final String REQUEST_TIME = "Request-Time";
+
+    private static final String RESPONSE_TIME = "Response-Time";
+
+    private static final String SIGNATURE = "Signature";
+
+    private final PrivateKey signingKey;
+
+    private final String keyVersion;
+
+    private final PublicKey clientPublicKey;
+
+    private final String host;
+
+    private final int port;
+
+    private final String basePath;
+
+    private final boolean secure;
+
+    private final boolean http11Only;
+
+    private final int threads;
+
+    private volatile FaultProfile faultProfile;
+
+    private final Map<Endpoint, FaultProfile> endpointFaultProfiles = new ConcurrentHashMap<>();
+
+    @Getter
+    private final GatewayState state = new GatewayState();
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder http2Requests = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private SelfSignedCertificate certificate;
+
+    private LoopResources loopResources;
+
+    private DisposableServer server;
+
+    /**
+     * Default constructor.
+     *
+     * @param signingKey            the {@link PrivateKey} that signs the responses
+     * @param keyVersion            the key version of the response signature, {@code 1} by default
+     * @param clientPublicKey       the {@link PublicKey} that verifies the request signatures, or {@code null} to accept
+     *                              every request
+     * @param host                  the host to bind to, {@code 127.0.0.1} by default
+     * @param port                  the port to bind to, an ephemeral port by default
+     * @param basePath              the path prefix of the endpoints, none by default
+     * @param secure                whether HTTPS is served with a self-signed certificate, negotiating HTTP/2 or
+     *                              HTTP/1.1
+     * @param http11Only            whether only HTTP/1.1 is offered over HTTPS, so that the client falls back from
+     *                              HTTP/2
+     * @param threads               the number of event loop threads, the number of processors by default
+     * @param faultProfile          the {@link FaultProfile} of the endpoints without their own
+     * @param endpointFaultProfiles the {@link FaultProfile} of each {@link Endpoint}
+     */
+    @Builder
+    private GCashGatewaySimulator(PrivateKey signingKey, String keyVersion, PublicKey clientPublicKey, String host,
+                                  int port, String basePath, boolean secure, boolean http11Only, int threads,
+                                  FaultProfile faultProfile,
+                                  @Singular Map<Endpoint, FaultProfile> endpointFaultProfiles) {
+        if (signingKey == null) {
+            throw new IllegalArgumentException("The signing key is required");
+        }
+
+        this.signingKey = signingKey;
+        this.keyVersion = keyVersion == null ? "1" : keyVersion;
+        this.clientPublicKey = clientPublicKey;
+        this.host = host == null ? "127.0.0.1" : host;
+        this.port = port;
+        this.basePath = basePath == null ? "" : StringUtils.removeEnd(basePath, "/");
+        this.secure = secure;
+        this.http11Only = http11Only;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.faultProfile = faultProfile == null ? FaultProfile.NONE : faultProfile;
+        this.endpointFaultProfiles.putAll(endpointFaultProfiles);
+    }
+
+    /**
+     * Starts the simulator on its own event loops.
+     *
+     * @return this simulator
+     * @throws CertificateException if the self-signed certificate cannot be generated
+     */
+    public GCashGatewaySimulator start() throws CertificateException {
+        loopResources = LoopResources.create("gcash-simulator", threads, true);
+
+        HttpServer httpServer = HttpServer.create()
+                .host(host)
+                .port(port)
+                .runOn(loopResources)
+                .route(routes -> {
+                    for (Endpoint endpoint : Endpoint.values()) {
+                        routes.post(basePath + endpoint.getPath(), (request, response) -> handle(endpoint, request, response));
+                    }
+                });
+
+        if (secure && http11Only) {
+            certificate = new SelfSignedCertificate("localhost");
+            httpServer = httpServer
+                    .secure(spec -> spec.sslContext(Http11SslContextSpec.forServer(certificate.certificate(),
+                            certificate.privateKey())));
+        } else if (secure) {
+            certificate = new SelfSignedCertificate("localhost");
+            httpServer = httpServer
+                    .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    .secure(spec -> spec.sslContext(Http2SslContextSpec.forServer(certificate.certificate(),
+                            certificate.privateKey())));
+        }
+
+        server = httpServer.bindNow();
+        log.info("GCash gateway simulator listening on {}", getBaseUrl());
+
+        return this;
+    }
+
+    /**
+     * Returns the base URL, i.e. the payment gateway URL of the client.
+     *
+     * @return the base URL
+     */
+    public String getBaseUrl() {
+        return (secure ? "https" : "http") + "://" + ("127.0.0.1".equals(host) ? "localhost" : host) + ":"
+                + server.port() + basePath;
+    }
+
+    /**
+     * Returns the self-signed certificate that the client must trust when HTTPS is served.
+     *
+     * @return the {@link X509Certificate}, or {@code null} if HTTP is served
+     */
+    public X509Certificate getCertificate() {
+        return certificate == null ? null : certificate.cert();
+    }
+
+    /**
+     * Replaces the {@link FaultProfile} of the endpoints without their own.
+     *
+     * @param faultProfile the {@link FaultProfile}
+     */
+    public void setFaultProfile(FaultProfile faultProfile) {
+        this.faultProfile = faultProfile;
+    }
+
+    /**
+     * Replaces the {@link FaultProfile} of the {@link Endpoint}.
+     *
+     * @param endpoint     the {@link Endpoint}
+     * @param faultProfile the {@link FaultProfile}
+     */
+    public void setFaultProfile(Endpoint endpoint, FaultProfile faultProfile) {
+        endpointFaultProfiles.put(endpoint, faultProfile);
+    }
+
+    /**
+     * Returns the number of requests received.
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of requests received over HTTP/2.
+     *
+     * @return the number of HTTP/2 requests
+     */
+    public long getHttp2Requests() {
+        return http2Requests.sum();
+    }
+
+    /**
+     * Returns the number of requests rejected because of an invalid signature.
+     *
+     * @return the number of rejected requests
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of injected errors.
+     *
+     * @return the number of errors
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+
+        if (loopResources != null) {
+            loopResources.dispose();
+        }
+
+        if (certificate != null) {
+            certificate.delete();
+        }
+    }
+
+    private Mono<Void> handle(Endpoint endpoint, HttpServerRequest request, HttpServerResponse response) {
+        requests.increment();
+        request.withConnection(connection -> {
+            if (connection.channel() instanceof Http2StreamChannel) {
+                http2Requests.increment();
+            }
+        });
+        FaultProfile fault = endpointFaultProfiles.getOrDefault(endpoint, faultProfile);
+        Duration delay = fault.nextDelay();
+
+        Mono<byte[]> body = request.receive()
+                .aggregate()
+                .asByteArray()
+                .defaultIfEmpty(new byte[0]);
+        if (!delay.isZero()) {
+            body = body.delayUntil(bytes -> Mono.delay(delay));
+        }
+
+        return body.flatMap(bytes -> respond(endpoint, request.requestHeaders(), bytes, fault, response));
+    }
+
+    private Mono<Void> respond(Endpoint endpoint, HttpHeaders headers, byte[] bytes, FaultProfile fault,
+                               HttpServerResponse response) {
+        String clientId = headers.get(CLIENT_ID);
+
+        if (fault.nextError()) {
+            errors.increment();
+            return sendResult(response, HttpResponseStatus.valueOf(fault.getErrorStatus()), "U",
+                    "UNKNOWN_EXCEPTION", "Injected error");
+        }
+
+        String payload = decode(bytes, headers.get(HttpHeaderNames.CONTENT_ENCODING));
+        if (clientPublicKey != null && !verify(endpoint, clientId, headers, payload)) {
+            rejected.increment();
+            return sendResult(response, HttpResponseStatus.UNAUTHORIZED, "F", "INVALID_SIGNATURE",
+                    "The signature is invalid");
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(dispatch(endpoint, payload));
+        } catch (JsonProcessingException e) {
+            return sendResult(response, HttpResponseStatus.BAD_REQUEST, "F", "PARAM_ILLEGAL", e.getOriginalMessage());
+        }
+
+        String responseTime = OffsetDateTime.now().toString();
+        String signature;
+        try {
+            signature = "algorithm=RSA256, keyVersion=" + keyVersion + ", signature="
+                    + Signatures.sign(signingKey, Signatures.content(endpoint.getPath(), clientId, responseTime, json));
+        } catch (GeneralSecurityException e) {
+            return Mono.error(e);
+        }
+
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .header(CLIENT_ID, clientId == null ? "" : clientId)
+                .header(RESPONSE_TIME, responseTime)
+                .header(SIGNATURE, signature)
+                .sendString(Mono.just(json))
+                .then();
+    }
+
+    private boolean verify(Endpoint endpoint, String clientId, HttpHeaders headers, String payload) {
+        String header = headers.get(SIGNATURE);
+        String signature = header == null ? null : Signatures.parseSignature(header);
+        if (clientId == null || signature == null) {
+            return false;
+        }
+
+        try {
+            return Signatures.verify(clientPublicKey, Signatures.content(endpoint.getPath(), clientId,
+                    headers.get(REQUEST_TIME), payload), signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    private Object dispatch(Endpoint endpoint, String payload) throws JsonProcessingException {
+        return switch (endpoint) {
+            case ACCESS_TOKEN -> state.applyToken(objectMapper.readValue(payload, AccessTokenRequest.class));
+            case ACCESS_TOKEN_CANCELLATION -> state.cancelToken(accessToken(payload));
+            case PAYMENT -> state.pay(objectMapper.readValue(payload, PaymentRequest.class));
+            case PAYMENT_INQUIRY -> state.inquiryPayment(objectMapper.readValue(payload, PaymentInquiryRequest.class));
+            case PAYMENT_NOTIFICATION -> state.notifyPayment(objectMapper.readValue(payload,
+                    PaymentNotificationRequest.class));
+            case REFUND -> state.refund(objectMapper.readValue(payload, RefundRequest.class));
+            case REFUND_INQUIRY -> state.inquiryRefund(objectMapper.readValue(payload, RefundInquiryRequest.class));
+            case USER_INFORMATION_INQUIRY -> state.inquiryUserInfo(accessToken(payload));
+        };
+    }
+
+    private String accessToken(String payload) throws JsonProcessingException {
+        JsonNode accessToken = objectMapper.readTree(payload).get("accessToken");
+
+        return accessToken == null ? null : accessToken.asText();
+    }
+
+    private Mono<Void> sendResult(HttpServerResponse response, HttpResponseStatus status, String resultStatus,
+                                  String resultCode, String resultMessage) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(Result.builder()
+                    .resultStatus(resultStatus)
+                    .resultCode(resultCode)
+                    .resultMessage(resultMessage)
+                    .build());
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+
+        return response.status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just(json))
+                .then();
+    }
+
+    private static String decode(byte[] bytes, String contentEncoding) {
+        if (contentEncoding == null) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        try (InputStream inputStream = "gzip".equalsIgnoreCase(contentEncoding)
+                ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                : new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress the request payload", e);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2023 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.gcash.simulator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.vincenzolabs.gcash.dto.AccessTokenRequest;
+import org.vincenzolabs.gcash.dto.AccessTokenResponse;
+import org.vincenzolabs.gcash.dto.ActionForm;
+import org.vincenzolabs.gcash.dto.OpenUserInfo;
+import org.vincenzolabs.gcash.dto.PaymentInquiryRequest;
+import org.vincenzolabs.gcash.dto.PaymentInquiryResponse;
+import org.vincenzolabs.gcash.dto.PaymentNotificationRequest;
+import org.vincenzolabs.gcash.dto.PaymentNotificationResponse;
+import org.vincenzolabs.gcash.dto.PaymentRequest;
+import org.vincenzolabs.gcash.dto.PaymentResponse;
+import org.vincenzolabs.gcash.dto.RefundInquiryRequest;
+import org.vincenzolabs.gcash.dto.RefundInquiryResponse;
+import org.vincenzolabs.gcash.dto.RefundRequest;
+import org.vincenzolabs.gcash.dto.RefundResponse;
+import org.vincenzolabs.gcash.dto.Result;
+import org.vincenzolabs.gcash.dto.UserInformationResponse;
+import org.vincenzolabs.gcash.dto.UserName;
+import org.vincenzolabs.gcash.enumeration.ActionFormType;
+import org.vincenzolabs.gcash.enumeration.PaymentStatus;
+import org.vincenzolabs.gcash.enumeration.RefundStatus;
+import org.vincenzolabs.gcash.enumeration.UserStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The in-memory state of the {@link GCashGatewaySimulator}. It keeps the payments, refunds and access tokens, and
+ * implements the business rules of every endpoint.
+ *
+ * @author <a href="mailto:rvbabilonia@gmail.com">Rey Vincent Babilonia</a>
+ */
+public class GatewayState {
+
+    private final Map<String, PaymentInquiryResponse> paymentsByRequestId = new ConcurrentHashMap<>();
+
+    private final Map<String, PaymentInquiryResponse> paymentsById = new ConcurrentHashMap<>();
+
+    private final Map<String, RefundInquiryResponse> refundsByRequestId = new ConcurrentHashMap<>();
+
+    private final Map<String, RefundInquiryResponse> refundsById = new ConcurrentHashMap<>();
+
+    private final Set<String> cancelledAccessTokens = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Issues an access token.
+     *
+     * @param request the {@link AccessTokenRequest}
+     * @return the {@link AccessTokenResponse}
+     */
+    public AccessTokenResponse applyToken(AccessTokenRequest request) {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        return AccessTokenResponse.builder()
+                .result(success())
+                .accessToken(nextId("AT"))
+                .accessTokenExpiryTime(now.plusHours(1))
+                .refreshToken(nextId("RT"))
+                .refreshTokenExpiryTime(now.plusDays(30))
+                .customerId(nextId("C"))
+                .build();
+    }
+
+    /**
+     * Cancels an access token.
+     *
+     * @param accessToken the access token
+     * @return the {@link Result}
+     */
+    public Result cancelToken(String accessToken) {
+        if (StringUtils.isBlank(accessToken)) {
+            return failure("PARAM_ILLEGAL", "accessToken is missing");
+        }
+
+        cancelledAccessTokens.add(accessToken);
+
+        return success();
+    }
+
+    /**
+     * Creates a payment in the {@link PaymentStatus#PROCESSING} status. A payment request ID that was already used
+     * returns the existing payment.
+     *
+     * @param request the {@link PaymentRequest}
+     * @return the {@link PaymentResponse}
+     */
+    public PaymentResponse pay(PaymentRequest request) {
+        if (StringUtils.isBlank(request.getPaymentRequestId()) || request.getPaymentAmount() == null) {
+            return PaymentResponse.builder()
+                    .result(failure("PARAM_ILLEGAL", "paymentRequestId and paymentAmount are required"))
+                    .build();
+        }
+
+        PaymentInquiryResponse payment = paymentsByRequestId.computeIfAbsent(request.getPaymentRequestId(),
+                paymentRequestId -> {
+                    String paymentId = nextId("P");
+                    PaymentInquiryResponse created = PaymentInquiryResponse.builder()
+                            .result(success())
+                            .paymentId(paymentId)
+                            .paymentRequestId(paymentRequestId)
+                            .paymentAmount(request.getPaymentAmount())
+                            .paymentStatus(PaymentStatus.PROCESSING)
+                            .paymentTime(OffsetDateTime.now())
+                            .build();
+                    paymentsById.put(paymentId, created);
+                    return created;
+                });
+
+        return PaymentResponse.builder()
+                .result(Result.builder()
+                        .resultStatus("A")
+                        .resultCode("ACCEPT")
+                        .resultMessage("accept")
+                        .build())
+                .paymentId(payment.getPaymentId())
+                .actionForm(ActionForm.builder()
+                        .actionFormType(ActionFormType.REDIRECTION)
+                        .redirectionUrl("https://simulator.gcash.local/cashier?paymentId=" + payment.getPaymentId())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Retrieves a payment by payment ID or payment request ID.
+     *
+     * @param request the {@link PaymentInquiryRequest}
+     * @return the {@link PaymentInquiryResponse}
+     */
+    public PaymentInquiryResponse inquiryPayment(PaymentInquiryRequest request) {
+        PaymentInquiryResponse payment = findPayment(request.getPaymentId(), request.getPaymentRequestId());
+        if (payment == null) {
+            return PaymentInquiryResponse.builder()
+                    .result(failure("ORDER_NOT_EXIST", "The payment does not exist"))
+                    .build();
+        }
+
+        return payment;
+    }
+
+    /**
+     * Updates the status of a payment from a payment notification.
+     *
+     * @param request the {@link PaymentNotificationRequest}
+     * @return the {@link PaymentNotificationResponse}
+     */
+    public PaymentNotificationResponse notifyPayment(PaymentNotificationRequest request) {
+        PaymentInquiryResponse payment = findPayment(request.getPaymentId(), request.getPaymentRequestId());
+        if (payment == null) {
+            return PaymentNotificationResponse.builder()
+                    .result(failure("ORDER_NOT_EXIST", "The payment does not exist"))
+                    .build();
+        }
+
+        if (request.getPaymentStatus() != null) {
+            complete(payment.getPaymentRequestId(), request.getPaymentStatus());
+        }
+
+        return PaymentNotificationResponse.builder()
+                .result(success())
+                .build();
+    }
+
+    /**
+     * Refunds a payment. A refund request ID that was already used returns the existing refund.
+     *
+     * @param request the {@link RefundRequest}
+     * @return the {@link RefundResponse}
+     */
+    public RefundResponse refund(RefundRequest request) {
+        PaymentInquiryResponse payment = findPayment(request.getPaymentId(), request.getPaymentRequestId());
+        if (payment == null) {
+            return RefundResponse.builder()
+                    .result(failure("ORDER_NOT_EXIST", "The payment does not exist"))
+                    .build();
+        }
+
+        if (StringUtils.isBlank(request.getRefundRequestId()) || request.getRefundAmount() == null) {
+            return RefundResponse.builder()
+                    .result(failure("PARAM_ILLEGAL", "refundRequestId and refundAmount are required"))
+                    .build();
+        }
+
+        RefundInquiryResponse refund = refundsByRequestId.computeIfAbsent(request.getRefundRequestId(),
+                refundRequestId -> {
+                    String refundId = nextId("R");
+                    RefundInquiryResponse created = RefundInquiryResponse.builder()
+                            .result(success())
+                            .refundId(refundId)
+                            .refundRequestId(refundRequestId)
+                            .refundAmount(request.getRefundAmount())
+                            .refundReason(request.getRefundReason())
+                            .refundStatus(RefundStatus.SUCCESS)
+                            .refundTime(OffsetDateTime.now())
+                            .build();
+                    refundsById.put(refundId, created);
+                    return created;
+                });
+
+        return RefundResponse.builder()
+                .result(success())
+                .refundId(refund.getRefundId())
+                .refundTime(refund.getRefundTime())
+                .build();
+    }
+
+    /**
+     * Retrieves a refund by refund ID or refund request ID.
+     *
+     * @param request the {@link RefundInquiryRequest}
+     * @return the {@link RefundInquiryResponse}
+     */
+    public RefundInquiryResponse inquiryRefund(RefundInquiryRequest request) {
+        RefundInquiryResponse refund = request.getRefundId() == null
+                ? null : refundsById.get(request.getRefundId());
+        if (refund == null && request.getRefundRequestId() != null) {
+            refund = refundsByRequestId.get(request.getRefundRequestId());
+        }
+
+        if (refund == null) {
+            return RefundInquiryResponse.builder()
+                    .result(failure("REFUND_NOT_EXIST", "The refund does not exist"))
+                    .build();
+        }
+
+        return refund;
+    }
+
+    /**
+     * Retrieves the user information of an access token that was not cancelled.
+     *
+     * @param accessToken the access token
+     * @return the {@link UserInformationResponse}
+     */
+    public UserInformationResponse inquiryUserInfo(String accessToken) {
+        if (StringUtils.isBlank(accessToken) || cancelledAccessTokens.contains(accessToken)) {
+            return UserInformationResponse.builder()
+                    .result(failure("INVALID_ACCESS_TOKEN", "The access token is invalid"))
+                    .build();
+        }
+
+        return UserInformationResponse.builder()
+                .result(success())
+                .userInfo(OpenUserInfo.builder()
+                        .userId("U" + Math.abs(accessToken.hashCode()))
+                        .status(UserStatus.ACTIVE)
+                        .nickname("Juan")
+                        .username(UserName.builder()
+                                .fullName("Juan Dela Cruz")
+                                .firstName("Juan")
+                                .lastName("Dela Cruz")
+                                .build())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Completes a payment, e.g. to simulate the customer paying in the cashier.
+     *
+     * @param paymentRequestId the payment request ID
+     * @param paymentStatus    the {@link PaymentStatus}
+     */
+    public void complete(String paymentRequestId, PaymentStatus paymentStatus) {
+        paymentsByRequestId.computeIfPresent(paymentRequestId, (key, payment) -> {
+            payment.setPaymentStatus(paymentStatus);
+            return payment;
+        });
+    }
+
+    /**
+     * Returns the payment.
+     *
+     * @param paymentRequestId the payment request ID
+     * @return the {@link PaymentInquiryResponse}, or {@code null} if there is none
+     */
+    public PaymentInquiryResponse getPayment(String paymentRequestId) {
+        return paymentsByRequestId.get(paymentRequestId);
+    }
+
+    /**
+     * Returns the refund.
+     *
+     * @param refundRequestId the refund request ID
+     * @return the {@link RefundInquiryResponse}, or {@code null} if there is none
+     */
+    public RefundInquiryResponse getRefund(String refundRequestId) {
+        return refundsByRequestId.get(refundRequestId);
+    }
+
+    /**
+     * Forgets every payment, refund and cancelled access token.
+     */
+    public void clear() {
+        paymentsByRequestId.clear();
+        paymentsById.clear();
+        refundsByRequestId.clear();
+        refundsById.clear();
+        cancelledAccessTokens.clear();
+    }
+
+    private PaymentInquiryResponse findPayment(String paymentId, String paymentRequestId) {
+        PaymentInquiryResponse payment = paymentId == null ? null : paymentsById.get(paymentId);
+        if (payment == null && paymentRequestId != null) {
+            payment = paymentsByRequestId.get(paymentRequestId);
+        }
+
+        return payment;
+    }
+
+    private String nextId(String prefix) {
+        return prefix + System.currentTimeMillis() + String.format("%08d", sequence.incrementAndGet());
+    }
+
+    private static Result success() {
+        return Result.builder()
+                .resultStatus("S")
+                .resultCode("SUCCESS")
+                .resultMessage("success")
+                .build();
+    }
+
+    private static Result failure(String resultCode, String resultMessage) {
+        return Result.builder()
+                .resultStatus("F")
+                .resultCode(resultCode)
+                .resultMessage(resultMessage)
+                .build();
+    }
+}